@@ -0,0 +1,48 @@
+package com.project.demo.benchmark;
+
+import com.project.demo.DemoApplication;
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the application without a web server against its embedded H2 database, with SQL logging off
+// so the benchmarks measure the data path rather than the console.
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        List<String> defaults = new ArrayList<>(List.of(
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "spring.main.banner-mode=off"));
+        defaults.addAll(List.of(properties));
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(defaults.toArray(String[]::new))
+                .run();
+    }
+
+    static List<Employee> seed(EmployeeRepository employeeRepository, int count) {
+        return employeeRepository.saveAll(employees(count));
+    }
+
+    static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder()
+                    .firstName("John" + i)
+                    .lastName("Doe" + (i % 100))
+                    .email("johndoe" + i + "@mail.com")
+                    .build());
+        }
+        return employees;
+    }
+
+}
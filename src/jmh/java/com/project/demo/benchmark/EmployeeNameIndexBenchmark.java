@@ -0,0 +1,42 @@
+package com.project.demo.benchmark;
+
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.service.EmployeeNameIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Type-ahead lookups against the in-memory name index behind GET /api/employees/search.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeNameIndexBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    private EmployeeNameIndex nameIndex;
+
+    private String[] prefixes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        nameIndex = new EmployeeNameIndex();
+        BenchmarkContexts.employees(rows).forEach(employee -> {
+            employee.setId((long) nameIndex.size() + 1);
+            nameIndex.put(EmployeeView.from(employee));
+        });
+        prefixes = new String[]{"j", "jo", "john1", "john12", "doe4", "john1 doe1"};
+    }
+
+    @Benchmark
+    public List<EmployeeView> searchTop10() {
+        return nameIndex.search(prefixes[ThreadLocalRandom.current().nextInt(prefixes.length)], 10);
+    }
+
+}
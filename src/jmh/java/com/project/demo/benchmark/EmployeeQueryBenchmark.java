@@ -0,0 +1,71 @@
+package com.project.demo.benchmark;
+
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The four name lookups on EmployeeRepository: JPQL vs native SQL, index vs named parameters. They are cacheable,
+// so the context runs with the "nocache" profile and every call goes to H2 instead of the query cache.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeQueryBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeRepository employeeRepository;
+
+    private List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("spring.profiles.active=nocache");
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        employees = BenchmarkContexts.seed(employeeRepository, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Employee next() {
+        return employees.get(ThreadLocalRandom.current().nextInt(employees.size()));
+    }
+
+    @Benchmark
+    public Employee findByJPQL() {
+        Employee employee = next();
+        return employeeRepository.findByJPQL(employee.getFirstName(), employee.getLastName());
+    }
+
+    @Benchmark
+    public Employee findByJPQLNamedParams() {
+        Employee employee = next();
+        return employeeRepository.findByJPQLNamedParams(employee.getFirstName(), employee.getLastName());
+    }
+
+    @Benchmark
+    public Employee findByNativeSQL() {
+        Employee employee = next();
+        return employeeRepository.findByNativeSQL(employee.getFirstName(), employee.getLastName());
+    }
+
+    @Benchmark
+    public Employee findByNativeSQLNamedParams() {
+        Employee employee = next();
+        return employeeRepository.findByNativeSQLNamedParams(employee.getFirstName(), employee.getLastName());
+    }
+
+}
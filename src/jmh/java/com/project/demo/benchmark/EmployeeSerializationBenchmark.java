@@ -0,0 +1,114 @@
+package com.project.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Jackson encoding and decoding of the List<EmployeeView> returned by GET /api/employees in each negotiable
+// format, configured the way Spring configures the converters of the web layer, with and without the gzip
+// response compression. The size on the wire of every combination is reported in the results as the
+// secondary result wireSize:wireBytes.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"none", "gzip"})
+    public String compression;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private List<EmployeeView> employees;
+
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        CollectionType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeView.class);
+        writer = objectMapper.writerFor(listType);
+        reader = objectMapper.readerFor(listType);
+        List<Employee> entities = BenchmarkContexts.employees(size);
+        employees = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            entities.get(i).setId((long) i + 1);
+            entities.get(i).setVersion(0L);
+            employees.add(EmployeeView.from(entities.get(i)));
+        }
+        payload = serialize();
+    }
+
+    // JMH sums event counters over the measurement iterations, so the size is taken in a single shot
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+
+        public long wireBytes;
+
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees() throws IOException {
+        return serialize();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public byte[] wireSize(WireSize wireSize) throws IOException {
+        byte[] body = serialize();
+        wireSize.wireBytes = body.length;
+        return body;
+    }
+
+    @Benchmark
+    public List<EmployeeView> deserializeEmployees() throws IOException {
+        InputStream in = new ByteArrayInputStream(payload);
+        try (InputStream body = "gzip".equals(compression) ? new GZIPInputStream(in) : in) {
+            return reader.readValue(body);
+        }
+    }
+
+    private byte[] serialize() throws IOException {
+        if (!"gzip".equals(compression)) {
+            return writer.writeValueAsBytes(employees);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            writer.writeValue(gzip, employees);
+        }
+        return bytes.toByteArray();
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.project.demo.benchmark;
+
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import com.project.demo.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    // "caffeine" measures the cached read path, "none" runs with the "nocache" profile and goes to H2 on every call
+    @Param({"caffeine", "none"})
+    public String cacheType;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("none".equals(cacheType) ? "spring.profiles.active=nocache"
+                : "spring.cache.type=" + cacheType);
+        employeeService = context.getBean(EmployeeService.class);
+        List<Employee> employees = BenchmarkContexts.seed(context.getBean(EmployeeRepository.class), rows);
+        ids = employees.stream().mapToLong(Employee::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        long next = sequence.incrementAndGet();
+        return employeeService.saveEmployee(Employee.builder()
+                .firstName("Jane" + next)
+                .lastName("Doe")
+                .email("janedoe" + next + "@mail.com")
+                .build());
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById() {
+        return employeeService.getEmployeeById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public List<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    // the projection behind GET /api/employees; compare allocation with -Djmh.args="-prof gc"
+    @Benchmark
+    public List<EmployeeView> getAllEmployeeViews() {
+        return employeeService.getAllEmployeeViews();
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.project.demo.config;
+
+import com.project.demo.controller.AdmissionControlFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+// Admission control for the servlet stack; set employee.admission.enabled=false to switch it off.
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+@ConditionalOnProperty(name = "employee.admission.enabled", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControlProperties properties,
+                                                                                 DataSource dataSource,
+                                                                                 MeterRegistry meterRegistry) throws SQLException {
+        Supplier<HikariPoolMXBean> pool = () -> null;
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            pool = hikari::getHikariPoolMXBean;
+        }
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(properties, pool, meterRegistry));
+        registration.addUrlPatterns("/api/employees", "/api/employees/*");
+        return registration;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.project.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Limits of the admission control in front of /api/employees (employee.admission.* in application.properties).
+// A request is turned away with 503 once maxPending threads are already queued for a pooled connection, or
+// while threads are queued and the mean connection acquire time over the last sampleWindow is above
+// maxAcquireWait.
+@ConfigurationProperties("employee.admission")
+public record AdmissionControlProperties(@DefaultValue("true") boolean enabled,
+                                         @DefaultValue("10") int maxPending,
+                                         @DefaultValue("100ms") Duration maxAcquireWait,
+                                         @DefaultValue("500ms") Duration sampleWindow,
+                                         @DefaultValue("1s") Duration retryAfter) {
+}
@@ -0,0 +1,14 @@
+package com.project.demo.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache sizing and expiry live in application.properties (spring.cache.caffeine.spec);
+// run with the "nocache" profile to switch the cache off.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EMPLOYEES_CACHE = "employees";
+
+}
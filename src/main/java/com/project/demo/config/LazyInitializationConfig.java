@@ -0,0 +1,19 @@
+package com.project.demo.config;
+
+import com.project.demo.controller.EmployeeController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// With spring.main.lazy-initialization (the "startup" profile) every bean is created on first use, except the
+// employee controller and with it the service, repository and JPA setup behind it: the first request would
+// otherwise wait for the whole Hibernate bootstrap.
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter employeeHotPath() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EmployeeController.class);
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.project.demo.config;
+
+import com.project.demo.model.Employee;
+import com.project.demo.service.EmployeeLookupBatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+
+// Batched id lookups for the servlet stack; set employee.lookup-batch.enabled=false to switch them off.
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(LookupBatchProperties.class)
+@ConditionalOnProperty(name = "employee.lookup-batch.enabled", matchIfMissing = true)
+public class LookupBatchConfig {
+
+    @Bean
+    public EmployeeLookupBatcher employeeLookupBatcher(LookupBatchProperties properties, EntityManager entityManager,
+                                                       PlatformTransactionManager transactionManager,
+                                                       MeterRegistry meterRegistry) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // a multi-load answers what it can from the second-level cache and selects only the rest, with one
+        // where id in (...) per batch
+        return new EmployeeLookupBatcher(properties, ids -> readOnly.execute(status -> {
+            List<Employee> employees = entityManager.unwrap(Session.class).byMultipleIds(Employee.class).multiLoad(ids);
+            return employees.stream().filter(Objects::nonNull).toList();
+        }), meterRegistry);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.project.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Coalescing of employee lookups by id (employee.lookup-batch.* in application.properties). Lookups of the same id
+// share one load; lookups of different ids arriving within window of each other are loaded together, up to
+// maxBatchSize ids per query. A lookup gives up waiting for its load after timeout.
+@ConfigurationProperties("employee.lookup-batch")
+public record LookupBatchProperties(@DefaultValue("true") boolean enabled,
+                                    @DefaultValue("1ms") Duration window,
+                                    @DefaultValue("100") int maxBatchSize,
+                                    @DefaultValue("5s") Duration timeout) {
+}
@@ -0,0 +1,35 @@
+package com.project.demo.config;
+
+import com.project.demo.dto.EmployeeView;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+// Reachability hints for the native executable (mvn -Pnative package) that Spring AOT cannot derive from the
+// bean definitions. The Employee entity, request and response bodies and the EmployeeRepository proxies are
+// registered by Spring itself, and the Lombok builders are plain compiled code that needs no hints.
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.EmployeeHints.class)
+public class NativeImageConfig {
+
+    static class EmployeeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // instantiated reflectively by Hibernate for the JPQL constructor expressions in EmployeeRepository
+            hints.reflection().registerType(EmployeeView.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            // second-level cache: the provider and region factory are configured by name, and the region sizes
+            // are read by Typesafe Config from the classpath
+            hints.reflection().registerTypeIfPresent(classLoader,
+                    "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider", MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerTypeIfPresent(classLoader,
+                    "org.hibernate.cache.jcache.internal.JCacheRegionFactory", MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.resources().registerPattern("application.conf");
+            hints.resources().registerPattern("reference.conf");
+        }
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.project.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// Stands in for database replication when running locally: every copy interval the employees table of the
+// primary is copied into each replica, replacing its contents in a single transaction so readers of the
+// replica see either the previous copy or the new one. Only meant for the in-memory H2 replicas; real
+// replicas are fed by the database itself and leave employee.replicas.copy-interval unset.
+public class ReplicaCopyFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaCopyFeed.class);
+
+    private final JdbcTemplate primary;
+
+    private final ReplicaRoutingDataSource routing;
+
+    private final ReplicaMonitor monitor;
+
+    private final ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("schema-reactive.sql"));
+
+    public ReplicaCopyFeed(DataSource primary, ReplicaRoutingDataSource routing, ReplicaMonitor monitor) {
+        this.primary = new JdbcTemplate(primary);
+        this.routing = routing;
+        this.monitor = monitor;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.replicas.copy-interval}")
+    public void copyToReplicas() {
+        List<Object[]> rows = primary.query("select id, email, first_name, last_name, version from employees",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getObject(5)});
+        routing.getReplicas().forEach((name, replica) -> {
+            try {
+                copy(replica, rows);
+                monitor.synced(name);
+            } catch (DataAccessException e) {
+                // the replica keeps its previous copy, and leaves the read rotation once that is older than max-lag
+                log.warn("Copy of the employees table to {} failed, it keeps its previous copy", name, e);
+                monitor.copyFailed(name, e);
+            }
+        });
+    }
+
+    private void copy(DataSource replica, List<Object[]> rows) {
+        schema.execute(replica);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+        new TransactionTemplate(new DataSourceTransactionManager(replica)).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from employees");
+            jdbcTemplate.batchUpdate("insert into employees (id, email, first_name, last_name, version) values (?, ?, ?, ?, ?)", rows);
+        });
+    }
+
+}
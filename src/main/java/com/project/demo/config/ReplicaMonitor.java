@@ -0,0 +1,96 @@
+package com.project.demo.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Health checks of the read replicas: on every check a replica that cannot answer a query on the employees
+// table, or whose copy is older than the allowed lag, is taken out of the read rotation until a later check
+// passes again. The outcome per replica is the "replicas" entry of /actuator/health; the application stays UP
+// with every replica down, since reads then go to the primary.
+public class ReplicaMonitor implements HealthIndicator {
+
+    private final ReplicaRoutingDataSource routing;
+
+    private final Duration maxLag;
+
+    // only replicas refilled by ReplicaCopyFeed report when they were last in sync
+    private final boolean lagTracked;
+
+    private final Map<String, Instant> syncedAt = new ConcurrentHashMap<>();
+
+    // why the last copy to the replica failed, until a copy succeeds again
+    private final Map<String, String> copyFailures = new ConcurrentHashMap<>();
+
+    private volatile Map<String, String> status = Map.of();
+
+    public ReplicaMonitor(ReplicaRoutingDataSource routing, Duration maxLag, boolean lagTracked) {
+        this.routing = routing;
+        this.maxLag = maxLag;
+        this.lagTracked = lagTracked;
+    }
+
+    public void synced(String replica) {
+        syncedAt.put(replica, Instant.now());
+        copyFailures.remove(replica);
+    }
+
+    // a failing copy feed is reported next to the lag it causes, so it is not taken for slow replication
+    public void copyFailed(String replica, Exception e) {
+        copyFailures.put(replica, e.getMessage());
+    }
+
+    @Scheduled(fixedDelayString = "${employee.replicas.health-check-interval}")
+    public void checkReplicas() {
+        Map<String, String> checked = new LinkedHashMap<>();
+        List<String> healthy = new ArrayList<>();
+        routing.getReplicas().forEach((name, replica) -> {
+            String problem = problem(name, replica);
+            checked.put(name, problem == null ? "UP" : problem);
+            if (problem == null) {
+                healthy.add(name);
+            }
+        });
+        status = checked;
+        routing.setHealthyReplicas(healthy);
+    }
+
+    @Override
+    public Health health() {
+        return Health.up()
+                .withDetail("reads", routing.getHealthyReplicas().isEmpty() ? "primary" : routing.getHealthyReplicas())
+                .withDetails(status)
+                .build();
+    }
+
+    // null when the replica can serve reads, otherwise why not
+    private String problem(String name, DataSource replica) {
+        try {
+            new JdbcTemplate(replica).queryForObject("select count(*) from employees where 1 = 0", Long.class);
+        } catch (RuntimeException e) {
+            return "unreachable: " + e.getMessage();
+        }
+        if (lagTracked) {
+            Instant synced = syncedAt.get(name);
+            String copyFailure = copyFailures.containsKey(name) ? ", copy failing: " + copyFailures.get(name) : "";
+            if (synced == null) {
+                return "not copied yet" + copyFailure;
+            }
+            if (Duration.between(synced, Instant.now()).compareTo(maxLag) > 0) {
+                return "last copied " + synced + copyFailure;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.project.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// Read replicas of the "replicas" profile (employee.replicas.* in application-replicas.properties). A replica
+// serves reads while it answers a query on the employees table and, when copyInterval is set (the local H2
+// replicas fed by ReplicaCopyFeed), while its last copy is no older than maxLag.
+@ConfigurationProperties("employee.replicas")
+public record ReplicaProperties(List<String> urls,
+                                @DefaultValue("sa") String username,
+                                @DefaultValue("") String password,
+                                @DefaultValue("PT10S") Duration maxLag,
+                                Duration copyInterval) {
+}
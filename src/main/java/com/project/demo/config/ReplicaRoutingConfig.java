@@ -0,0 +1,69 @@
+package com.project.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// The "replicas" profile: the primary is the usual spring.datasource.* pool, every employee.replicas.urls entry
+// gets a pool of its own, and JPA is handed a data source that routes read-only transactions to the replicas.
+@Configuration
+@Profile("replicas")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, ReplicaProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : properties.urls()) {
+            String name = "replica-" + replicas.size();
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url)
+                    .username(properties.username())
+                    .password(properties.password())
+                    .build();
+            replica.setPoolName(name);
+            replicas.put(name, replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    // the connection is only taken from the router at the first statement, once the transaction (and whether
+    // it is read-only) has been set up
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaMonitor replicaMonitor(ReplicaRoutingDataSource replicaRoutingDataSource, ReplicaProperties properties) {
+        return new ReplicaMonitor(replicaRoutingDataSource, properties.maxLag(), properties.copyInterval() != null);
+    }
+
+    @Bean
+    @ConditionalOnProperty("employee.replicas.copy-interval")
+    public ReplicaCopyFeed replicaCopyFeed(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource,
+                                           ReplicaMonitor replicaMonitor) {
+        return new ReplicaCopyFeed(primaryDataSource, replicaRoutingDataSource, replicaMonitor);
+    }
+
+}
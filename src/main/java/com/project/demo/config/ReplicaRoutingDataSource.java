@@ -0,0 +1,71 @@
+package com.project.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends the connections of read-only transactions round-robin to the replicas that passed their last health
+// check, and everything else (writes, and reads outside a read-only transaction) to the primary. With no
+// healthy replica, reads fall back to the primary as well. Only correct behind a LazyConnectionDataSourceProxy:
+// the read-only flag of a transaction is set after the transaction manager asked for its connection.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<String> healthyReplicas = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.replicas = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    public void setHealthyReplicas(List<String> healthyReplicas) {
+        this.healthyReplicas = List.copyOf(healthyReplicas);
+    }
+
+    // the replica pools are not beans of their own, so they are closed with the router
+    @Override
+    public void close() {
+        replicas.values().forEach(replica -> {
+            if (replica instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        });
+    }
+
+}
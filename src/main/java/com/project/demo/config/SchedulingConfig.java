@@ -0,0 +1,10 @@
+package com.project.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs (the periodic recount behind the stats endpoint); intervals live in application.properties.
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
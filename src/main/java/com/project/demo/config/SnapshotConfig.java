@@ -0,0 +1,32 @@
+package com.project.demo.config;
+
+import com.project.demo.repository.EmployeeRepository;
+import com.project.demo.service.EmployeeSnapshot;
+import com.project.demo.service.EmployeeSnapshotWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// Snapshot export and serving for the servlet stack, switched on with employee.snapshot.export=true on the node
+// that writes the file and employee.snapshot.enabled=true on the nodes that read it; one node may do both.
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotConfig {
+
+    @Bean
+    @ConditionalOnProperty("employee.snapshot.export")
+    public EmployeeSnapshotWriter employeeSnapshotWriter(SnapshotProperties properties, EmployeeRepository employeeRepository) {
+        return new EmployeeSnapshotWriter(employeeRepository, properties.path());
+    }
+
+    @Bean
+    @ConditionalOnProperty("employee.snapshot.enabled")
+    public EmployeeSnapshot employeeSnapshot(SnapshotProperties properties, MeterRegistry meterRegistry) {
+        return new EmployeeSnapshot(properties.path(), meterRegistry);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.project.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Read-only snapshot serving (employee.snapshot.* in application.properties), off unless enabled. A node with
+// export=true writes the employees table to path every exportInterval; a node with enabled=true serves id reads
+// from the file at path and checks it for a newer snapshot every pollInterval. Only GET by id and the id-ordered
+// listings use the snapshot; lookups by email or name, search and the reads behind updates do not.
+@ConfigurationProperties("employee.snapshot")
+public record SnapshotProperties(@DefaultValue("false") boolean enabled,
+                                 @DefaultValue("false") boolean export,
+                                 @DefaultValue("employees.snapshot") Path path,
+                                 @DefaultValue("1s") Duration pollInterval,
+                                 @DefaultValue("1m") Duration exportInterval) {
+}
@@ -0,0 +1,53 @@
+package com.project.demo.config;
+
+import com.project.demo.model.Employee;
+import com.project.demo.service.EmployeeNameIndex;
+import com.project.demo.service.EmployeeStatistics;
+import com.project.demo.service.EmployeeWriteBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.LongSupplier;
+
+import static com.project.demo.config.CacheConfig.EMPLOYEES_CACHE;
+
+// Write-behind for the servlet stack, switched on with employee.write-behind.enabled=true.
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(WriteBehindProperties.class)
+@ConditionalOnProperty("employee.write-behind.enabled")
+public class WriteBehindConfig {
+
+    @Bean
+    public EmployeeWriteBuffer employeeWriteBuffer(WriteBehindProperties properties, EntityManagerFactory entityManagerFactory,
+                                                   EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                                   EmployeeNameIndex nameIndex, EmployeeStatistics statistics,
+                                                   CacheManager cacheManager, MeterRegistry meterRegistry) {
+        // ids come from the entity's own pooled generator, so a buffered create costs a sequence call only once
+        // per allocation block and never collides with ids handed out to synchronous inserts
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        IdentifierGenerator generator = sessionFactory.getMappingMetamodel().getEntityDescriptor(Employee.class)
+                .getIdentifierGenerator();
+        LongSupplier ids = () -> {
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                return (Long) generator.generate((SharedSessionContractImplementor) session, null);
+            }
+        };
+        return new EmployeeWriteBuffer(properties, ids, entityManager, new TransactionTemplate(transactionManager),
+                nameIndex, statistics, cacheManager.getCache(EMPLOYEES_CACHE), meterRegistry);
+    }
+
+}
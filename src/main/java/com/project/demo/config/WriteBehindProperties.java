@@ -0,0 +1,18 @@
+package com.project.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Write-behind buffering of employee creates and full updates (employee.write-behind.* in application.properties),
+// off unless enabled. Up to capacity employees wait in memory; a flush starts once batchSize of them are waiting
+// or flushInterval after the previous one, and commits them batchSize to a statement. A write whose flush has failed
+// maxAttempts times is given up and moved to the dead letters.
+@ConfigurationProperties("employee.write-behind")
+public record WriteBehindProperties(@DefaultValue("false") boolean enabled,
+                                    @DefaultValue("10000") int capacity,
+                                    @DefaultValue("50") int batchSize,
+                                    @DefaultValue("100ms") Duration flushInterval,
+                                    @DefaultValue("100") int maxAttempts) {
+}
@@ -0,0 +1,105 @@
+package com.project.demo.controller;
+
+import com.project.demo.config.AdmissionControlProperties;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Sheds load before it reaches EmployeeService: when the connection pool is saturated, a request that got
+// in would only queue for a connection (up to the Hikari connection timeout) and push every queued request's
+// latency up with it. Such requests are answered at once with 503 and a Retry-After instead, counted in
+// employee.admission.rejected by reason. The acquire wait is sampled from Hikari's own
+// hikaricp.connections.acquire timer, as the mean over the last sample window.
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    public static final String REJECTED_COUNTER = "employee.admission.rejected";
+
+    static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final AdmissionControlProperties properties;
+
+    // null until the pool has been started by its first connection
+    private final Supplier<HikariPoolMXBean> pool;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock sampleLock = new ReentrantLock();
+
+    private volatile long recentAcquireNanos;
+
+    private volatile long sampledAt = System.nanoTime();
+
+    private long sampledCount;
+
+    private double sampledTotalNanos;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, Supplier<HikariPoolMXBean> pool,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pool = pool;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String rejection = rejection();
+        if (rejection != null) {
+            meterRegistry.counter(REJECTED_COUNTER, "reason", rejection).increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.retryAfter().toSeconds())));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // the reason to turn the request away, null to let it through
+    String rejection() {
+        HikariPoolMXBean poolBean = pool.get();
+        if (poolBean == null) {
+            return null;
+        }
+        int pending = poolBean.getThreadsAwaitingConnection();
+        if (pending >= properties.maxPending()) {
+            return "pending";
+        }
+        if (pending > 0 && recentAcquireNanos() > properties.maxAcquireWait().toNanos()) {
+            return "wait";
+        }
+        return null;
+    }
+
+    // one request per window re-samples the timer; the others use the last sample without waiting for it
+    long recentAcquireNanos() {
+        long now = System.nanoTime();
+        if (now - sampledAt >= properties.sampleWindow().toNanos() && sampleLock.tryLock()) {
+            try {
+                Timer timer = meterRegistry.find(ACQUIRE_TIMER).timer();
+                if (timer != null) {
+                    long count = timer.count();
+                    double totalNanos = timer.totalTime(TimeUnit.NANOSECONDS);
+                    long acquired = count - sampledCount;
+                    recentAcquireNanos = acquired > 0 ? (long) ((totalNanos - sampledTotalNanos) / acquired) : 0;
+                    sampledCount = count;
+                    sampledTotalNanos = totalNanos;
+                }
+                sampledAt = now;
+            } finally {
+                sampleLock.unlock();
+            }
+        }
+        return recentAcquireNanos;
+    }
+
+}
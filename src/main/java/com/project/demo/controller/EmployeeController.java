@@ -1,60 +1,330 @@
 package com.project.demo.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.dto.EmployeeStats;
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.dto.ImportResult;
 import com.project.demo.model.Employee;
+import com.project.demo.service.EmployeeImportService;
 import com.project.demo.service.EmployeeService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/employees")
+@Profile("!reactive")
 @AllArgsConstructor
 public class EmployeeController {
 
+    static final int MAX_PAGE_SIZE = 1000;
+
+    static final int MAX_SEARCH_RESULTS = 100;
+
+    static final int MAX_STATS_ENTRIES = 1000;
+
+    static final String NDJSON = "application/x-ndjson";
+
+    // rows written between explicit flushes of an export, matching the repository fetch size
+    static final int EXPORT_FLUSH_INTERVAL = 500;
+
+    static final Pattern EMAIL_DOMAIN = Pattern.compile("[A-Za-z0-9.-]+");
+
     private EmployeeService employeeService;
 
+    private EmployeeImportService employeeImportService;
+
+    private ObjectMapper objectMapper;
+
+    // 202 with the assigned id when the create was taken by the write-behind buffer, 201 once committed otherwise
     @PostMapping
+    public ResponseEntity<Employee> createEmployee(@RequestBody Employee employee){
+        Optional<Employee> accepted = employeeService.saveEmployeeBehind(employee);
+        if (accepted.isPresent()){
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(accepted.get().getId()).toUri())
+                    .body(accepted.get());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.saveEmployee(employee));
+    }
+
+    @PostMapping("/batch")
     @ResponseStatus(HttpStatus.CREATED)
-    public Employee createEmployee(@RequestBody Employee employee){
-        return employeeService.saveEmployee(employee);
+    public List<Employee> createEmployees(@RequestBody List<Employee> employees){
+        return employeeService.saveEmployees(employees);
     }
 
     @GetMapping
-    public List<Employee> getAllEmployees(){
-        return employeeService.getAllEmployees();
+    public ResponseEntity<List<EmployeeView>> getAllEmployees(){
+        List<EmployeeView> employees = employeeService.getAllEmployeeViews();
+        return ResponseEntity.ok().eTag(EmployeeETags.listEtag(employees)).body(employees);
+    }
+
+    // keyset pagination: ?after=<last id seen>&limit=<page size>, with a Link header pointing at the next page
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<EmployeeView>> getEmployeesPage(@RequestParam(value = "after", defaultValue = "0") long after,
+                                                           @RequestParam("limit") int limit){
+        if (limit < 1){
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        List<EmployeeView> employees = employeeService.getEmployeesAfter(after, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(EmployeeETags.listEtag(employees));
+        if (employees.size() == pageSize){
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", employees.get(employees.size() - 1).id())
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(employees);
+    }
+
+    // a page cannot be streamed and the stream has no page size, so asking for both is rejected instead of
+    // one of them being silently ignored
+    @GetMapping(params = {"stream=true", "limit"})
+    public ResponseEntity<Void> getEmployeesPageStreamed(){
+        return ResponseEntity.badRequest().build();
+    }
+
+    // unbounded mode: rows are serialized into the JSON array as they come off the cursor
+    @GetMapping(params = {"stream=true", "!limit"})
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees(){
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                employeeService.streamAllEmployees(employee -> {
+                    try {
+                        generator.writeObject(employee);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // full-table export for bulk consumers: one JSON document per line, written row by row as the cursor
+    // advances; the first row is flushed immediately so the first byte does not wait for the whole table
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportEmployeesAsNdjson(){
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                employeeService.streamAllEmployees(employee -> {
+                    try {
+                        generator.writeObject(employee);
+                        generator.writeRaw('\n');
+                        if (written[0]++ % EXPORT_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @GetMapping(value = "/export", produces = EmployeeCsv.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportEmployeesAsCsv(){
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            EmployeeCsv.writeHeader(writer);
+            int[] written = {0};
+            employeeService.streamAllEmployees(employee -> {
+                try {
+                    EmployeeCsv.write(writer, employee);
+                    if (written[0]++ % EXPORT_FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(EmployeeCsv.MEDIA_TYPE + ";charset=UTF-8"))
+                .body(body);
+    }
+
+    // bulk import: the body is parsed line by line and committed in chunks (employee.import.chunk-size,
+    // or ?chunkSize=), so the payload is never held in memory as a whole
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public ResponseEntity<ImportResult> importEmployeesFromNdjson(InputStream body,
+                                                                  @RequestParam(value = "chunkSize", required = false) Integer chunkSize){
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Iterator<Employee> rows = reader.lines()
+                .filter(line -> !line.isBlank())
+                .map(this::readNdjsonRow)
+                .iterator();
+        return importEmployees(rows, chunkSize);
+    }
+
+    @PostMapping(value = "/import", consumes = EmployeeCsv.MEDIA_TYPE)
+    public ResponseEntity<ImportResult> importEmployeesFromCsv(InputStream body,
+                                                               @RequestParam(value = "chunkSize", required = false) Integer chunkSize) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return importEmployees(EmployeeCsv.read(reader), chunkSize);
     }
 
+    private ResponseEntity<ImportResult> importEmployees(Iterator<Employee> rows, Integer chunkSize){
+        if (chunkSize != null && chunkSize < 1){
+            return ResponseEntity.badRequest().build();
+        }
+        int size = chunkSize != null ? chunkSize : employeeImportService.getDefaultChunkSize();
+        return ResponseEntity.ok(employeeImportService.importEmployees(rows, size));
+    }
+
+    // an unreadable line is handed on as null and counted as rejected
+    private Employee readNdjsonRow(String line){
+        try {
+            return objectMapper.readValue(line, Employee.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    @GetMapping(value = "/lookup", params = "email")
+    public ResponseEntity<EmployeeView> getEmployeeByEmail(@RequestParam("email") String email){
+        return ResponseEntity.of(employeeService.getEmployeeByEmail(email));
+    }
+
+    @GetMapping(value = "/lookup", params = {"firstName", "lastName"})
+    public List<EmployeeView> getEmployeesByName(@RequestParam("firstName") String firstName,
+                                                 @RequestParam("lastName") String lastName){
+        return employeeService.getEmployeesByName(firstName, lastName);
+    }
+
+    // type-ahead: top matches on first name, last name or full name prefix
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeView>> searchEmployees(@RequestParam("prefix") String prefix,
+                                                              @RequestParam(value = "limit", defaultValue = "10") int limit){
+        if (prefix.isBlank() || limit < 1){
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.searchEmployees(prefix, Math.min(limit, MAX_SEARCH_RESULTS)));
+    }
+
+    // totals and the most frequent email domains and names, from in-memory counters rather than the table
+    @GetMapping("/stats")
+    public ResponseEntity<EmployeeStats> getStatistics(@RequestParam(value = "top", defaultValue = "10") int top){
+        if (top < 1){
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.getStatistics(Math.min(top, MAX_STATS_ENTRIES)));
+    }
+
+    // the version is the ETag; an If-None-Match that still matches is answered with 304 and no body
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId){
         Optional<Employee> employee = employeeService.getEmployeeById(employeeId);
         if (employee.isPresent()){
-            return new ResponseEntity<>(employee.get(), HttpStatus.OK);
+            return ResponseEntity.ok().eTag(EmployeeETags.etag(employee.get().getVersion())).body(employee.get());
         }
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
+    // with If-Match the update only goes through if the employee is still at that version (412 otherwise);
+    // 202 when it was taken by the write-behind buffer. The stored employee is read from where it is written,
+    // never from a cache or replica that may lag, and is only read: the update is a new instance
     @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId, @RequestBody Employee employee){
-        return employeeService.getEmployeeById(employeeId)
+    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId, @RequestBody Employee employee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        Long expectedVersion = EmployeeETags.parseIfMatch(ifMatch);
+        return employeeService.getEmployeeForUpdate(employeeId)
                 .map(savedEmployee -> {
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
+                    Employee changedEmployee = Employee.builder()
+                            .id(employeeId)
+                            .firstName(employee.getFirstName())
+                            .lastName(employee.getLastName())
+                            .email(employee.getEmail())
+                            .version(expectedVersion != null ? expectedVersion : savedEmployee.getVersion())
+                            .build();
 
-                    Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-                    return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
+                    Optional<Employee> accepted = employeeService.updateEmployeeBehind(changedEmployee);
+                    if (accepted.isPresent()){
+                        return ResponseEntity.accepted().eTag(EmployeeETags.etag(accepted.get().getVersion())).body(accepted.get());
+                    }
+                    Employee updatedEmployee = employeeService.updateEmployee(changedEmployee);
+                    return ResponseEntity.ok().eTag(EmployeeETags.etag(updatedEmployee.getVersion())).body(updatedEmployee);
 
                 }).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // only the non-null fields of the body are written, in a single UPDATE; If-Match works as for PUT
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable("id") long employeeId, @RequestBody Employee employee,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        employee.setVersion(EmployeeETags.parseIfMatch(ifMatch));
+        if (employeeService.patchEmployee(employeeId, employee)){
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployee(@PathVariable("id") long employeeId){
-        employeeService.deleteEmployee(employeeId);
+        if (employeeService.deleteEmployee(employeeId) == 0){
+            return ResponseEntity.notFound().build();
+        }
         return new ResponseEntity<String>("Employee deleted successfully", HttpStatus.OK);
     }
 
+    // bulk delete by a body of ids or by ?emailDomain=, answering with the number of deleted employees
+    @DeleteMapping
+    public ResponseEntity<Integer> deleteEmployees(@RequestBody(required = false) List<Long> employeeIds,
+                                                   @RequestParam(value = "emailDomain", required = false) String emailDomain){
+        if (employeeIds != null){
+            return ResponseEntity.ok(employeeService.deleteEmployees(employeeIds));
+        }
+        if (emailDomain != null && isEmailDomain(emailDomain)){
+            return ResponseEntity.ok(employeeService.deleteEmployeesByEmailDomain(emailDomain));
+        }
+        return ResponseEntity.badRequest().build();
+    }
+
+    // host name characters only: a blank domain, a wildcard or a whole address never reaches a bulk delete
+    static boolean isEmailDomain(String emailDomain) {
+        return EMAIL_DOMAIN.matcher(emailDomain).matches();
+    }
+
+    // a lost optimistic-locking race: 412 when the client asked for a version with If-Match,
+    // 409 when two unconditional writes collided
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleVersionConflict(WebRequest request){
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).build();
+    }
+
 }
@@ -0,0 +1,143 @@
+package com.project.demo.controller;
+
+import com.project.demo.model.Employee;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// RFC 4180 CSV rows for employees: fields containing a comma, quote or line break are quoted,
+// with embedded quotes doubled. Reading is lazy, one record at a time, with columns matched by header name.
+final class EmployeeCsv {
+
+    static final String MEDIA_TYPE = "text/csv";
+
+    static final String HEADER = "id,firstName,lastName,email";
+
+    private EmployeeCsv() {
+    }
+
+    static void writeHeader(Writer writer) throws IOException {
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    static void write(Writer writer, Employee employee) throws IOException {
+        writer.write(employee.getId() == null ? "" : employee.getId().toString());
+        writer.write(',');
+        writeField(writer, employee.getFirstName());
+        writer.write(',');
+        writeField(writer, employee.getLastName());
+        writer.write(',');
+        writeField(writer, employee.getEmail());
+        writer.write("\r\n");
+    }
+
+    // rows of a CSV document with a header line; a row that cannot be mapped comes back as null
+    static Iterator<Employee> read(BufferedReader reader) throws IOException {
+        List<String> header = readRecord(reader);
+        if (header == null) {
+            return Collections.emptyIterator();
+        }
+        int firstName = header.indexOf("firstName");
+        int lastName = header.indexOf("lastName");
+        int email = header.indexOf("email");
+        return new Iterator<>() {
+
+            private List<String> next = readNonBlankRecord(reader);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Employee next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                List<String> record = next;
+                next = readNonBlankRecord(reader);
+                if (record.size() != header.size() || firstName < 0 || lastName < 0 || email < 0) {
+                    return null;
+                }
+                return Employee.builder()
+                        .firstName(record.get(firstName))
+                        .lastName(record.get(lastName))
+                        .email(record.get(email))
+                        .build();
+            }
+        };
+    }
+
+    private static List<String> readNonBlankRecord(BufferedReader reader) {
+        try {
+            List<String> record;
+            do {
+                record = readRecord(reader);
+            } while (record != null && record.size() == 1 && record.get(0).isEmpty());
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // one record, which may span several lines when a quoted field contains line breaks; null at the end
+    private static List<String> readRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int peek = reader.read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.project.demo.controller;
+
+import com.project.demo.dto.EmployeeView;
+import org.springframework.util.DigestUtils;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+// ETags of employee resources, shared by the servlet and the reactive controller. A single employee is tagged
+// with its version; If-Match headers are turned back into the version a write expects.
+final class EmployeeETags {
+
+    // expected version for an If-Match that cannot match anything; versions start at 0
+    static final long NO_VERSION = -1L;
+
+    private EmployeeETags() {
+    }
+
+    static String etag(Long version){
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    // ETag of a list page, derived from the ids and versions of its rows, so it changes whenever a row on the
+    // page is written, added or removed without having to serialize the page to find out. It is weak because
+    // list pages are big enough to be gzipped, and Tomcat will not compress a response with a strong ETag;
+    // If-None-Match compares weakly anyway, and lists are never the target of an If-Match
+    static String listEtag(List<EmployeeView> employees){
+        ByteBuffer buffer = ByteBuffer.allocate(employees.size() * 2 * Long.BYTES);
+        for (EmployeeView employee : employees) {
+            buffer.putLong(employee.id());
+            buffer.putLong(employee.version() != null ? employee.version() : 0L);
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(buffer.array()) + "\"";
+    }
+
+    // the version named by an If-Match header, null for no header or "*". A weak or foreign tag can never
+    // match one of our strong ETags, so it becomes a version no row has and the write fails with 412
+    static Long parseIfMatch(String ifMatch){
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")){
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.charAt(0) == '"' && tag.charAt(tag.length() - 1) == '"'){
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // not one of ours
+            }
+        }
+        return NO_VERSION;
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.project.demo.controller;
+
+import com.project.demo.dto.EmployeeStats;
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.model.Employee;
+import com.project.demo.service.ReactiveEmployeeService;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// The employee API of EmployeeController on the "reactive" profile. Lists are returned as a Flux and written
+// to the response row by row as they come off the R2DBC cursor, as a JSON array or, with
+// Accept: application/x-ndjson, one document per line.
+@RestController
+@RequestMapping("/api/employees")
+@Profile("reactive")
+@AllArgsConstructor
+public class ReactiveEmployeeController {
+
+    private ReactiveEmployeeService employeeService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<EmployeeView> createEmployee(@RequestBody Employee employee){
+        return employeeService.saveEmployee(employee);
+    }
+
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Flux<EmployeeView> createEmployees(@RequestBody List<Employee> employees){
+        return employeeService.saveEmployees(employees);
+    }
+
+    @GetMapping
+    public Flux<EmployeeView> getAllEmployees(){
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping(value = "/export", produces = EmployeeController.NDJSON)
+    public Flux<EmployeeView> exportEmployeesAsNdjson(){
+        return employeeService.getAllEmployees();
+    }
+
+    // keyset pagination: ?after=<last id seen>&limit=<page size>, with a Link header pointing at the next page
+    @GetMapping(params = "limit")
+    public Mono<ResponseEntity<List<EmployeeView>>> getEmployeesPage(@RequestParam(value = "after", defaultValue = "0") long after,
+                                                                     @RequestParam("limit") int limit,
+                                                                     ServerHttpRequest request){
+        if (limit < 1){
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        int pageSize = Math.min(limit, EmployeeController.MAX_PAGE_SIZE);
+        return employeeService.getEmployeesAfter(after, pageSize)
+                .collectList()
+                .map(employees -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(EmployeeETags.listEtag(employees));
+                    if (employees.size() == pageSize){
+                        String next = UriComponentsBuilder.fromHttpRequest(request)
+                                .replaceQueryParam("after", employees.get(employees.size() - 1).id())
+                                .replaceQueryParam("limit", pageSize)
+                                .toUriString();
+                        response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+                    }
+                    return response.body(employees);
+                });
+    }
+
+    @GetMapping(value = "/lookup", params = "email")
+    public Mono<ResponseEntity<EmployeeView>> getEmployeeByEmail(@RequestParam("email") String email){
+        return employeeService.getEmployeeByEmail(email)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/lookup", params = {"firstName", "lastName"})
+    public Flux<EmployeeView> getEmployeesByName(@RequestParam("firstName") String firstName,
+                                                 @RequestParam("lastName") String lastName){
+        return employeeService.getEmployeesByName(firstName, lastName);
+    }
+
+    // type-ahead: top matches on first name, last name or full name prefix
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<EmployeeView>>> searchEmployees(@RequestParam("prefix") String prefix,
+                                                                    @RequestParam(value = "limit", defaultValue = "10") int limit){
+        if (prefix.isBlank() || limit < 1){
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return employeeService.searchEmployees(prefix, Math.min(limit, EmployeeController.MAX_SEARCH_RESULTS))
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    // totals and the most frequent email domains and names, from in-memory counters rather than the table
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<EmployeeStats>> getStatistics(@RequestParam(value = "top", defaultValue = "10") int top){
+        if (top < 1){
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return employeeService.getStatistics(Math.min(top, EmployeeController.MAX_STATS_ENTRIES)).map(ResponseEntity::ok);
+    }
+
+    // the version is the ETag; an If-None-Match that still matches is answered with 304 and no body
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<EmployeeView>> getEmployeeById(@PathVariable("id") long employeeId){
+        return employeeService.getEmployeeById(employeeId)
+                .map(employee -> ResponseEntity.ok().eTag(EmployeeETags.etag(employee.version())).body(employee))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // with If-Match the update only goes through if the employee is still at that version (412 otherwise)
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<EmployeeView>> updateEmployee(@PathVariable("id") long employeeId, @RequestBody Employee employee,
+                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return employeeService.updateEmployee(employeeId, employee, EmployeeETags.parseIfMatch(ifMatch))
+                .map(updatedEmployee -> ResponseEntity.ok().eTag(EmployeeETags.etag(updatedEmployee.version())).body(updatedEmployee))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // only the non-null fields of the body are written, in a single UPDATE; If-Match works as for PUT
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Void>> patchEmployee(@PathVariable("id") long employeeId, @RequestBody Employee employee,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return employeeService.patchEmployee(employeeId, employee, EmployeeETags.parseIfMatch(ifMatch))
+                .map(patched -> patched ? ResponseEntity.noContent().<Void>build() : ResponseEntity.notFound().<Void>build());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable("id") long employeeId){
+        return employeeService.deleteEmployee(employeeId)
+                .map(deleted -> deleted > 0
+                        ? new ResponseEntity<>("Employee deleted successfully", HttpStatus.OK)
+                        : ResponseEntity.notFound().<String>build());
+    }
+
+    // bulk delete by a body of ids, answering with the number of deleted employees
+    @DeleteMapping
+    public Mono<Long> deleteEmployees(@RequestBody List<Long> employeeIds){
+        return employeeService.deleteEmployees(employeeIds);
+    }
+
+    // a body-less DELETE has no content type, so WebFlux cannot treat the body as optional as the servlet
+    // controller does; the domain variant gets its own mapping instead
+    @DeleteMapping(params = "emailDomain")
+    public Mono<ResponseEntity<Long>> deleteEmployeesByEmailDomain(@RequestParam("emailDomain") String emailDomain){
+        if (!EmployeeController.isEmailDomain(emailDomain)){
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return employeeService.deleteEmployeesByEmailDomain(emailDomain).map(ResponseEntity::ok);
+    }
+
+    // a lost optimistic-locking race: 412 when the client asked for a version with If-Match,
+    // 409 when two unconditional writes collided
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleVersionConflict(ServerHttpRequest request){
+        HttpStatus status = request.getHeaders().containsKey(HttpHeaders.IF_MATCH) ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).build();
+    }
+
+}
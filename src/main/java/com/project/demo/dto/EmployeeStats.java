@@ -0,0 +1,9 @@
+package com.project.demo.dto;
+
+import java.util.Map;
+
+// Employee counts for dashboards: the total and the most frequent email domains, first names and last names,
+// each ordered from the most to the least frequent.
+public record EmployeeStats(long total, Map<String, Long> emailDomains, Map<String, Long> firstNames,
+                            Map<String, Long> lastNames) {
+}
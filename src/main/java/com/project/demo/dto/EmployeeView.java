@@ -0,0 +1,14 @@
+package com.project.demo.dto;
+
+import com.project.demo.model.Employee;
+
+// Read-only projection of an employee, built straight from the query result by a JPQL constructor
+// expression: it never enters the persistence context, so there is no snapshot or dirty checking.
+public record EmployeeView(Long id, String firstName, String lastName, String email, Long version) {
+
+    public static EmployeeView from(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getVersion());
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.project.demo.dto;
+
+import java.util.List;
+
+// Outcome of a bulk import: totals plus what happened in every committed chunk.
+public record ImportResult(int accepted, int rejected, List<Chunk> chunks) {
+
+    public record Chunk(int index, int accepted, int rejected, long millis) {
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.project.demo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Times every EmployeeService and EmployeeRepository call (including the methods EmployeeRepository
+// inherits from JpaRepository) as employee.service / employee.repository, tagged with the method name and
+// whether it returned normally or threw. Percentile histograms are published so latency percentiles can be
+// aggregated across instances in Prometheus.
+@Aspect
+@Component
+public class EmployeeMetricsAspect {
+
+    public static final String SERVICE_TIMER = "employee.service";
+
+    public static final String REPOSITORY_TIMER = "employee.repository";
+
+    private final MeterRegistry meterRegistry;
+
+    public EmployeeMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.project.demo.service.EmployeeService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint);
+    }
+
+    @Around("this(com.project.demo.repository.EmployeeRepository) && !execution(* java.lang.Object.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+}
@@ -2,18 +2,32 @@ package com.project.demo.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Entity
-@Table(name = "employees")
+@Cacheable
+// region "employee" is sized in application.conf; Typesafe Config cannot address the default, dotted region name
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee")
+@Table(name = "employees", indexes = {
+        @Index(name = Employee.EMAIL_INDEX, columnList = "email", unique = true),
+        @Index(name = "ix_employees_first_last", columnList = "first_name, last_name"),
+        @Index(name = "ix_employees_last_first", columnList = "last_name, first_name")
+})
 public class Employee {
 
+    public static final String EMAIL_INDEX = "ux_employees_email";
+
+    // pooled sequence instead of IDENTITY: ids are handed out in blocks without a round trip per row,
+    // which is what lets Hibernate group inserts into JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -24,4 +38,8 @@ public class Employee {
 
     private String email;
 
+    // bumped on every write; exposed as the ETag of the employee and checked against If-Match on updates
+    @Version
+    private Long version;
+
 }
@@ -1,29 +1,132 @@
 package com.project.demo.repository;
 
+import com.project.demo.dto.EmployeeView;
 import com.project.demo.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+// the lookups marked cacheable are answered from the query cache plus the Employee entity region while the
+// table is unchanged; any write to employees through Hibernate invalidates their cached results. Native SQL has
+// no query space of its own, so cacheable native queries must name the employees table as theirs. The full scans
+// ignore the second-level cache, so a pass over the whole table does not push the hot entries out of its region
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Employee> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Employee> findByEmail(String email);
 
     // defined custom query using JPQL with index params
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
     Employee findByJPQL(String firstName, String lastName);
 
     // defined custom query using JPQL with named params
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("select e from Employee e where e.firstName = :firstName and e.lastName = :lastName")
     Employee findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
     // defined custom query using native SQL with index params
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employees")
+    })
     @Query(value = "select * from employees e where e.first_name = ?1 and e.last_name = ?2", nativeQuery = true)
     Employee findByNativeSQL(String firstName, String lastName);
 
     // defined custom query using native SQL with named params
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employees")
+    })
     @Query(value = "select * from employees e where e.first_name = :firstName and e.last_name = :lastName", nativeQuery = true)
     Employee findByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
+    // the row as the primary has it, for the reads a write decides on: a read-write transaction is never routed
+    // to a read replica, and the query bypasses the entity region, so neither can hand back a lagging copy
+    @Transactional
+    @Query("select e from Employee e where e.id = :id")
+    Optional<Employee> findLatestById(@Param("id") long id);
+
+    // emails from the given set that are already taken, checked in a single query
+    @Query("select e.email from Employee e where e.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // partial update in a single statement without loading the entity; a null parameter leaves its column
+    // untouched. The version is bumped like any other write, and a non-null expected version turns the
+    // statement into a compare-and-set. Returns the number of updated rows, so 0 means there is no
+    // employee with that id (or, with an expected version, that it has moved on)
+    @Transactional
+    @Modifying
+    @Query("update Employee e set e.firstName = coalesce(:firstName, e.firstName), " +
+            "e.lastName = coalesce(:lastName, e.lastName), e.email = coalesce(:email, e.email), " +
+            "e.version = e.version + 1 " +
+            "where e.id = :id and (:version is null or e.version = :version)")
+    int updatePartially(@Param("id") long id, @Param("firstName") String firstName,
+                        @Param("lastName") String lastName, @Param("email") String email,
+                        @Param("version") Long version);
+
+    // single DELETE statement; the inherited deleteById loads the entity before removing it
+    @Transactional
+    @Modifying
+    @Query("delete from Employee e where e.id = :id")
+    int deleteDirectly(@Param("id") long id);
+
+    // set-based delete of one chunk of ids, returns the number of deleted rows
+    @Transactional
+    @Modifying
+    @Query("delete from Employee e where e.id in :ids")
+    int deleteAllDirectly(@Param("ids") Collection<Long> ids);
+
+    // compared for equality rather than with like, so a domain containing % or _ matches only itself
+    @Query("select e.id from Employee e where substring(e.email, locate('@', e.email) + 1) = :domain")
+    List<Long> findIdsByEmailDomain(@Param("domain") String domain);
+
+    // read-only projections for the list and lookup endpoints
+    @Query("select new com.project.demo.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e order by e.id")
+    List<EmployeeView> findAllViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.project.demo.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e")
+    Stream<EmployeeView> streamAllViews();
+
+    // keyset page: the next employees after the given id, seeking on the primary key instead of an offset
+    @Query("select new com.project.demo.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e " +
+            "where e.id > :id order by e.id")
+    List<EmployeeView> findViewsAfter(@Param("id") long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.project.demo.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e " +
+            "where e.email = :email")
+    Optional<EmployeeView> findViewByEmail(@Param("email") String email);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.project.demo.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version) from Employee e " +
+            "where e.firstName = :firstName and e.lastName = :lastName order by e.id")
+    List<EmployeeView> findViewsByName(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    // streams every employee in id order, pulling rows from the driver one fetch size at a time
+    // (the caller has to consume and close the stream inside a transaction, and set the session's cache mode
+    // to keep the rows out of the second-level cache: a query's cache mode no longer applies once it is open)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
 }
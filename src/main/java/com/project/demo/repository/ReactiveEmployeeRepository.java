@@ -0,0 +1,201 @@
+package com.project.demo.repository;
+
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.model.Employee;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Non-blocking counterpart of EmployeeRepository for the "reactive" profile, written against the employees
+// table with plain SQL over R2DBC: there is no JPA in that profile, so rows are read straight into
+// EmployeeView and writes maintain the version column themselves.
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepository {
+
+    // same as the allocationSize of employees_seq on the Employee entity
+    static final int ID_BLOCK_SIZE = 50;
+
+    private static final String COLUMNS = "id, first_name, last_name, email, version";
+
+    private final DatabaseClient databaseClient;
+
+    // ids left over from the last sequence value drawn; like Hibernate's pooled optimizer, a value v of
+    // employees_seq reserves the block (v - 50, v], so both stacks can allocate from the same sequence
+    private final ConcurrentLinkedQueue<Long> reservedIds = new ConcurrentLinkedQueue<>();
+
+    public ReactiveEmployeeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Long> nextId() {
+        Long id = reservedIds.poll();
+        if (id != null) {
+            return Mono.just(id);
+        }
+        return databaseClient.sql("select next value for employees_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(hi -> {
+                    long first = Math.max(1, hi - ID_BLOCK_SIZE + 1);
+                    for (long reserved = first + 1; reserved <= hi; reserved++) {
+                        reservedIds.add(reserved);
+                    }
+                    return first;
+                });
+    }
+
+    public Mono<EmployeeView> insert(Employee employee) {
+        return nextId().flatMap(id -> databaseClient
+                .sql("insert into employees (" + COLUMNS + ") values (:id, :firstName, :lastName, :email, 0)")
+                .bind("id", id)
+                .bind("firstName", employee.getFirstName())
+                .bind("lastName", employee.getLastName())
+                .bind("email", employee.getEmail())
+                .fetch().rowsUpdated()
+                .thenReturn(new EmployeeView(id, employee.getFirstName(), employee.getLastName(), employee.getEmail(), 0L)));
+    }
+
+    // one statement with a binding per row, sent to the driver as a single batch
+    public Flux<EmployeeView> insertAll(List<Employee> employees) {
+        return Flux.fromIterable(employees)
+                .concatMap(employee -> nextId().map(id -> new EmployeeView(id, employee.getFirstName(),
+                        employee.getLastName(), employee.getEmail(), 0L)))
+                .collectList()
+                .flatMapMany(views -> databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(
+                            "insert into employees (" + COLUMNS + ") values ($1, $2, $3, $4, 0)");
+                    for (int i = 0; i < views.size(); i++) {
+                        EmployeeView view = views.get(i);
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        statement.bind(0, view.id()).bind(1, view.firstName()).bind(2, view.lastName()).bind(3, view.email());
+                    }
+                    return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+                }).thenMany(Flux.fromIterable(views)));
+    }
+
+    public Flux<EmployeeView> findAll() {
+        return databaseClient.sql("select " + COLUMNS + " from employees order by id")
+                .map(ReactiveEmployeeRepository::toView)
+                .all();
+    }
+
+    // keyset page: the next employees after the given id, seeking on the primary key instead of an offset
+    public Flux<EmployeeView> findAfter(long id, int limit) {
+        return databaseClient.sql("select " + COLUMNS + " from employees where id > :id order by id limit :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveEmployeeRepository::toView)
+                .all();
+    }
+
+    public Mono<EmployeeView> findById(long id) {
+        return databaseClient.sql("select " + COLUMNS + " from employees where id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toView)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(long id) {
+        return databaseClient.sql("select 1 from employees where id = :id")
+                .bind("id", id)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<EmployeeView> findByEmail(String email) {
+        return databaseClient.sql("select " + COLUMNS + " from employees where email = :email")
+                .bind("email", email)
+                .map(ReactiveEmployeeRepository::toView)
+                .one();
+    }
+
+    public Flux<EmployeeView> findByName(String firstName, String lastName) {
+        return databaseClient.sql("select " + COLUMNS + " from employees where first_name = :firstName and last_name = :lastName order by id")
+                .bind("firstName", firstName)
+                .bind("lastName", lastName)
+                .map(ReactiveEmployeeRepository::toView)
+                .all();
+    }
+
+    public Flux<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("select email from employees where email in (:emails)")
+                .bind("emails", List.copyOf(emails))
+                .map(row -> row.get("email", String.class))
+                .all();
+    }
+
+    public Flux<Long> findIdsByEmailDomain(String domain) {
+        // compared for equality rather than with like, so a domain containing % or _ matches only itself
+        return databaseClient.sql("select id from employees where substring(email, locate('@', email) + 1) = :domain")
+                .bind("domain", domain)
+                .map(row -> row.get("id", Long.class))
+                .all();
+    }
+
+    // writes every column and bumps the version; with an expected version the row is only written if it is
+    // still at that version. Returns the number of updated rows
+    public Mono<Long> update(long id, Employee employee, Long expectedVersion) {
+        return update("first_name = :firstName, last_name = :lastName, email = :email", id, employee, expectedVersion);
+    }
+
+    // same as update, but a null field leaves its column untouched
+    public Mono<Long> updatePartially(long id, Employee changes, Long expectedVersion) {
+        return update("first_name = coalesce(:firstName, first_name), last_name = coalesce(:lastName, last_name), "
+                + "email = coalesce(:email, email)", id, changes, expectedVersion);
+    }
+
+    private Mono<Long> update(String assignments, long id, Employee employee, Long expectedVersion) {
+        String sql = "update employees set " + assignments + ", version = version + 1 where id = :id"
+                + (expectedVersion != null ? " and version = :version" : "");
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql).bind("id", id);
+        spec = bindNullable(spec, "firstName", employee.getFirstName());
+        spec = bindNullable(spec, "lastName", employee.getLastName());
+        spec = bindNullable(spec, "email", employee.getEmail());
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(long id) {
+        return databaseClient.sql("delete from employees where id = :id")
+                .bind("id", id)
+                .fetch().rowsUpdated();
+    }
+
+    public Mono<Long> deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.sql("delete from employees where id in (:ids)")
+                .bind("ids", new ArrayList<>(ids))
+                .fetch().rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, String value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, String.class);
+    }
+
+    private static EmployeeView toView(Readable row) {
+        return new EmployeeView(row.get("id", Long.class), row.get("first_name", String.class),
+                row.get("last_name", String.class), row.get("email", String.class), row.get("version", Long.class));
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.project.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Probabilistic set of the emails already in the table. A negative answer is definite, so creates with
+// a clearly new email can skip the findByEmail round trip; a positive answer only means "maybe" and the
+// caller still has to ask the database. Emails are never removed, a deleted email just stays a false
+// positive until the next restart. Filled at startup by whichever employee service is active.
+@Component
+public class EmailBloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final int numBits;
+
+    private final int numHashes;
+
+    public EmailBloomFilter(@Value("${employee.email-filter.expected-insertions:1000000}") int expectedInsertions,
+                            @Value("${employee.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.numBits = (int) Math.max(64, Math.min(optimalBits, Integer.MAX_VALUE - 63));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray((numBits + 63) / 64);
+    }
+
+    public void put(String email) {
+        if (email == null) {
+            return;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            setBit(bit);
+        }
+    }
+
+    public boolean mightContain(String email) {
+        if (email == null) {
+            return false;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setBit(int bit) {
+        int index = bit >>> 6;
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = bits.get(index);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(index, current, current | mask));
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes, finished with the murmur3 fmix64 step to spread the bits
+    private static long hash(String email) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : email.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
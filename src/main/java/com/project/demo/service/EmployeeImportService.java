@@ -0,0 +1,108 @@
+package com.project.demo.service;
+
+import com.project.demo.dto.ImportResult;
+import com.project.demo.exception.ResourceNotFoundException;
+import com.project.demo.model.Employee;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+// Imports employees chunk by chunk from a lazily parsed source. Only one chunk is held in memory, and
+// the next rows are pulled from the source only after the previous chunk has been committed, so a slow
+// database slows down reading the request body instead of buffering it.
+@Service
+@Profile("!reactive")
+public class EmployeeImportService {
+
+    private final EmployeeService employeeService;
+
+    private final int defaultChunkSize;
+
+    public EmployeeImportService(EmployeeService employeeService,
+                                 @Value("${employee.import.chunk-size:500}") int defaultChunkSize) {
+        this.employeeService = employeeService;
+        this.defaultChunkSize = defaultChunkSize;
+    }
+
+    public int getDefaultChunkSize() {
+        return defaultChunkSize;
+    }
+
+    // a null row stands for a record the parser could not read and is counted as rejected
+    public ImportResult importEmployees(Iterator<Employee> rows, int chunkSize) {
+        List<ImportResult.Chunk> chunks = new ArrayList<>();
+        int accepted = 0;
+        int rejected = 0;
+        while (rows.hasNext()) {
+            long start = System.nanoTime();
+            List<Employee> chunk = new ArrayList<>(chunkSize);
+            int chunkRejected = 0;
+            Set<String> emails = new HashSet<>();
+            for (int read = 0; read < chunkSize && rows.hasNext(); read++) {
+                Employee employee = rows.next();
+                if (isValid(employee) && emails.add(employee.getEmail())) {
+                    employee.setId(null);
+                    employee.setVersion(null);
+                    chunk.add(employee);
+                } else {
+                    chunkRejected++;
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                // also the emails of buffered creates, which the table does not have yet
+                Set<String> existing = new HashSet<>(employeeService.getTakenEmails(emails));
+                int before = chunk.size();
+                chunk.removeIf(employee -> existing.contains(employee.getEmail()));
+                chunkRejected += before - chunk.size();
+            }
+            int chunkAccepted = save(chunk);
+            chunkRejected += chunk.size() - chunkAccepted;
+
+            accepted += chunkAccepted;
+            rejected += chunkRejected;
+            chunks.add(new ImportResult.Chunk(chunks.size(), chunkAccepted, chunkRejected,
+                    (System.nanoTime() - start) / 1_000_000));
+        }
+        return new ImportResult(accepted, rejected, chunks);
+    }
+
+    // one batched transaction per chunk; if a concurrent writer took one of the emails in the meantime
+    // the chunk is rolled back and retried row by row, so only the conflicting rows are rejected
+    private int save(List<Employee> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        try {
+            return employeeService.saveEmployees(chunk).size();
+        } catch (ResourceNotFoundException | DataIntegrityViolationException e) {
+            int saved = 0;
+            for (Employee employee : chunk) {
+                try {
+                    employee.setId(null);
+                    employee.setVersion(null);
+                    employeeService.saveEmployee(employee);
+                    saved++;
+                } catch (ResourceNotFoundException | DataIntegrityViolationException ignored) {
+                    // duplicate email, counted as rejected
+                }
+            }
+            return saved;
+        }
+    }
+
+    private static boolean isValid(Employee employee) {
+        return employee != null
+                && employee.getFirstName() != null && !employee.getFirstName().isBlank()
+                && employee.getLastName() != null && !employee.getLastName().isBlank()
+                && employee.getEmail() != null && employee.getEmail().indexOf('@') > 0;
+    }
+
+}
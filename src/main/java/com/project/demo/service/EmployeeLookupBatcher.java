@@ -0,0 +1,173 @@
+package com.project.demo.service;
+
+import com.project.demo.config.LookupBatchProperties;
+import com.project.demo.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Single-flight and micro-batching of employee lookups by id (employee.lookup-batch.enabled), DataLoader style.
+// A lookup of an id that is already being loaded waits for that load instead of starting its own, and is counted
+// in employee.lookup.coalesced. Any other lookup joins the open batch, or opens one: the caller that opened it
+// waits for the window to pass or for maxBatchSize ids to join, then loads the whole batch in one query on its own
+// thread and hands every waiting caller its employee (a coalesced caller gets its own copy, so callers never
+// share an instance one of them might change).
+// A write forgets the id, so a later lookup of it joins the open batch next to the earlier one; every lookup
+// registered for an id is completed. A lookup whose load has not completed within timeout fails with a
+// QueryTimeoutException. The ids per query are recorded in employee.lookup.batch.size.
+public class EmployeeLookupBatcher {
+
+    public static final String BATCH_SIZE_SUMMARY = "employee.lookup.batch.size";
+
+    public static final String COALESCED_COUNTER = "employee.lookup.coalesced";
+
+    private final LookupBatchProperties properties;
+
+    // the employees found for the given ids, in any order; ids without an employee are simply missing
+    private final Function<List<Long>, List<Employee>> loader;
+
+    private final DistributionSummary batchSizes;
+
+    private final Counter coalesced;
+
+    private final Map<Long, CompletableFuture<Optional<Employee>>> loading = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition batchFull = lock.newCondition();
+
+    // guarded by lock, null while no batch is open
+    private Batch open;
+
+    public EmployeeLookupBatcher(LookupBatchProperties properties, Function<List<Long>, List<Employee>> loader,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.loader = loader;
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_SUMMARY).baseUnit("ids").register(meterRegistry);
+        this.coalesced = meterRegistry.counter(COALESCED_COUNTER);
+    }
+
+    public Optional<Employee> load(long id) {
+        CompletableFuture<Optional<Employee>> lookup = new CompletableFuture<>();
+        CompletableFuture<Optional<Employee>> running = loading.putIfAbsent(id, lookup);
+        if (running != null) {
+            coalesced.increment();
+            return await(id, running).map(employee -> employee.toBuilder().build());
+        }
+        Batch opened = join(id, lookup);
+        if (opened != null) {
+            dispatch(awaitClosed(opened));
+        }
+        return await(id, lookup);
+    }
+
+    // called after a write to the employee: a lookup starting from now on must not join a load that may have read
+    // the row before the write, so it starts a fresh one
+    public void forget(long id) {
+        loading.remove(id);
+    }
+
+    // adds the lookup to the open batch, opening one if there is none; returns the batch if this caller opened it
+    private Batch join(long id, CompletableFuture<Optional<Employee>> lookup) {
+        lock.lock();
+        try {
+            Batch opened = null;
+            if (open == null) {
+                open = new Batch();
+                opened = open;
+            }
+            open.lookups.computeIfAbsent(id, key -> new ArrayList<>()).add(lookup);
+            if (open.lookups.size() >= properties.maxBatchSize()) {
+                open = null;
+                batchFull.signalAll();
+            }
+            return opened;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // waits until the window has passed or the batch has filled up, and closes it
+    private Batch awaitClosed(Batch batch) {
+        long remaining = properties.window().toNanos();
+        lock.lock();
+        try {
+            while (open == batch && remaining > 0) {
+                remaining = batchFull.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (open == batch) {
+                open = null;
+            }
+            lock.unlock();
+        }
+        return batch;
+    }
+
+    private void dispatch(Batch batch) {
+        batchSizes.record(batch.lookups.size());
+        Map<Long, Employee> found = new HashMap<>();
+        try {
+            loader.apply(new ArrayList<>(batch.lookups.keySet())).forEach(employee -> found.put(employee.getId(), employee));
+        } catch (RuntimeException | Error e) {
+            batch.lookups.forEach((id, lookups) -> lookups.forEach(lookup -> {
+                loading.remove(id, lookup);
+                lookup.completeExceptionally(e);
+            }));
+            throw e;
+        }
+        batch.lookups.forEach((id, lookups) -> lookups.forEach(lookup -> {
+            loading.remove(id, lookup);
+            lookup.complete(Optional.ofNullable(found.get(id)));
+        }));
+    }
+
+    // a lookup that times out stops being one later lookups of the id can join
+    private Optional<Employee> await(long id, CompletableFuture<Optional<Employee>> lookup) {
+        try {
+            return lookup.get(properties.timeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            loading.remove(id, lookup);
+            throw new QueryTimeoutException("Lookup of employee " + id + " timed out after " + properties.timeout(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Lookup of employee " + id + " interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    // written under lock until closed, only read by the caller that dispatches it after that; an id can have more
+    // than one lookup when it was forgotten while the batch was open
+    private static final class Batch {
+
+        private final Map<Long, List<CompletableFuture<Optional<Employee>>>> lookups = new LinkedHashMap<>();
+
+    }
+
+}
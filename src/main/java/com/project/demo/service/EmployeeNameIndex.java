@@ -0,0 +1,88 @@
+package com.project.demo.service;
+
+import com.project.demo.dto.EmployeeView;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// In-memory sorted index of employee names for type-ahead. Every employee is filed under its lower-cased
+// first name, last name and "first last", so a prefix lookup is a range scan over a skip list and never
+// reaches the database. Loaded from the table at startup and kept current on every create, update and
+// delete by whichever employee service is active.
+@Component
+public class EmployeeNameIndex {
+
+    // separates the name from the id in a key, and sorts below every character a name can contain
+    private static final char SEPARATOR = '\u0000';
+
+    private final Map<Long, EmployeeView> byId = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<String, EmployeeView> byName = new ConcurrentSkipListMap<>();
+
+    public EmployeeView get(long id) {
+        return byId.get(id);
+    }
+
+    // adds or replaces the employee and returns the previous entry, if any
+    public synchronized EmployeeView put(EmployeeView employee) {
+        EmployeeView previous = byId.put(employee.id(), employee);
+        if (previous != null) {
+            keys(previous).forEach(byName::remove);
+        }
+        keys(employee).forEach(key -> byName.put(key, employee));
+        return previous;
+    }
+
+    // removes the employee and returns its last entry, if any
+    public synchronized EmployeeView remove(long id) {
+        EmployeeView previous = byId.remove(id);
+        if (previous != null) {
+            keys(previous).forEach(byName::remove);
+        }
+        return previous;
+    }
+
+    // up to limit distinct employees with a first name, last name or full name starting with the prefix,
+    // in alphabetical order of the matching name
+    public List<EmployeeView> search(String prefix, int limit) {
+        String from = normalize(prefix);
+        ConcurrentNavigableMap<String, EmployeeView> matches = byName.subMap(from, true, from + Character.MAX_VALUE, false);
+        List<EmployeeView> result = new ArrayList<>(Math.min(limit, 16));
+        Set<Long> seen = new HashSet<>();
+        for (EmployeeView employee : matches.values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (seen.add(employee.id())) {
+                result.add(employee);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private static List<String> keys(EmployeeView employee) {
+        String firstName = normalize(employee.firstName());
+        String lastName = normalize(employee.lastName());
+        return List.of(
+                firstName + SEPARATOR + employee.id(),
+                lastName + SEPARATOR + employee.id(),
+                firstName + ' ' + lastName + SEPARATOR + employee.id());
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -1,21 +1,55 @@
 package com.project.demo.service;
 
+import com.project.demo.dto.EmployeeStats;
+import com.project.demo.dto.EmployeeView;
 import com.project.demo.model.Employee;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
     Employee saveEmployee(Employee employee);
 
+    Optional<Employee> saveEmployeeBehind(Employee employee);
+
+    List<Employee> saveEmployees(List<Employee> employees);
+
+    List<String> getTakenEmails(Collection<String> emails);
+
     List<Employee> getAllEmployees();
 
+    List<EmployeeView> getAllEmployeeViews();
+
+    List<EmployeeView> getEmployeesAfter(long afterId, int limit);
+
+    Optional<EmployeeView> getEmployeeByEmail(String email);
+
+    List<EmployeeView> getEmployeesByName(String firstName, String lastName);
+
+    List<EmployeeView> searchEmployees(String prefix, int limit);
+
+    EmployeeStats getStatistics(int top);
+
+    void streamAllEmployees(Consumer<Employee> action);
+
     Optional<Employee> getEmployeeById(long id);
 
+    Optional<Employee> getEmployeeForUpdate(long id);
+
     Employee updateEmployee(Employee employee);
 
-    void deleteEmployee(long id);
+    Optional<Employee> updateEmployeeBehind(Employee employee);
+
+    boolean patchEmployee(long id, Employee changes);
+
+    int deleteEmployee(long id);
+
+    int deleteEmployees(Collection<Long> ids);
+
+    int deleteEmployeesByEmailDomain(String domain);
 
 
 }
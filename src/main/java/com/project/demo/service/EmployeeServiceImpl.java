@@ -1,49 +1,491 @@
 package com.project.demo.service;
 
+import com.project.demo.dto.EmployeeStats;
+import com.project.demo.dto.EmployeeView;
 import com.project.demo.exception.ResourceNotFoundException;
 import com.project.demo.model.Employee;
 import com.project.demo.repository.EmployeeRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.Nullable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static com.project.demo.config.CacheConfig.EMPLOYEES_CACHE;
 
 @Service
+@Profile("!reactive")
 public class EmployeeServiceImpl implements EmployeeService {
 
+    // same as hibernate.jdbc.batch_size, so every flush sends exactly one JDBC batch
+    static final int BATCH_SIZE = 50;
+
+    // ids per DELETE ... WHERE id IN (...) statement
+    static final int DELETE_CHUNK_SIZE = 1000;
+
     private EmployeeRepository employeeRepository;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    private EntityManager entityManager;
+
+    private EmailBloomFilter emailFilter;
+
+    private EmployeeNameIndex nameIndex;
+
+    private EmployeeStatistics statistics;
+
+    // null unless employee.write-behind.enabled; while it holds a write, reads of that employee are answered from it
+    private EmployeeWriteBuffer writeBuffer;
+
+    // null when employee.lookup-batch.enabled=false, leaving every id lookup to its own findById
+    private EmployeeLookupBatcher lookupBatcher;
+
+    // null unless employee.snapshot.enabled; once a snapshot is mapped, reads by id are answered from it
+    private EmployeeSnapshot snapshot;
+
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EntityManager entityManager,
+                               EmailBloomFilter emailFilter, EmployeeNameIndex nameIndex, EmployeeStatistics statistics,
+                               @Nullable EmployeeWriteBuffer writeBuffer, @Nullable EmployeeLookupBatcher lookupBatcher,
+                               @Nullable EmployeeSnapshot snapshot) {
         this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.emailFilter = emailFilter;
+        this.nameIndex = nameIndex;
+        this.statistics = statistics;
+        this.writeBuffer = writeBuffer;
+        this.lookupBatcher = lookupBatcher;
+        this.snapshot = snapshot;
+    }
+
+    // a single pass over the table fills the in-memory structures before the first request
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        EmployeeStatistics.Counters counters = new EmployeeStatistics.Counters();
+        try (Stream<EmployeeView> employees = employeeRepository.streamAllViews()) {
+            employees.forEach(employee -> {
+                emailFilter.put(employee.email());
+                nameIndex.put(employee);
+                counters.add(employee);
+            });
+        }
+        statistics.reset(counters);
     }
 
+    // recounts from the table and swaps the result in; incremental updates made while the recount runs
+    // may be lost, and are picked up again by the next one
+    @Scheduled(initialDelayString = "${employee.stats.reconcile-interval}", fixedDelayString = "${employee.stats.reconcile-interval}")
+    @Transactional(readOnly = true)
+    public void reconcileStatistics() {
+        EmployeeStatistics.Counters counters = new EmployeeStatistics.Counters();
+        try (Stream<EmployeeView> employees = employeeRepository.streamAllViews()) {
+            employees.forEach(counters::add);
+        }
+        statistics.reset(counters);
+    }
+
+    // the unique index on email is what guarantees uniqueness, also for concurrent creates; the filter
+    // only decides whether a lookup is worth it, so a clearly new email costs a single insert
     @Override
+    @CachePut(cacheNames = EMPLOYEES_CACHE, key = "#result.id")
     public Employee saveEmployee(Employee employee) {
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if (savedEmployee.isPresent()){
+        if (isEmailTaken(employee.getEmail(), null)){
             throw new ResourceNotFoundException("Employee already exists with given email: " + employee.getEmail());
         }
-        return employeeRepository.save(employee);
+        try {
+            Employee savedEmployee = employeeRepository.save(employee);
+            afterCommit(() -> emailFilter.put(savedEmployee.getEmail()));
+            indexed(EmployeeView.from(savedEmployee));
+            return savedEmployee;
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)){
+                throw new ResourceNotFoundException("Employee already exists with given email: " + employee.getEmail(), e);
+            }
+            throw e;
+        }
+    }
+
+    // the write is only buffered here and committed by the write buffer's flusher; empty when write-behind is off
+    // or the buffer is full, leaving the caller to write synchronously
+    @Override
+    @CachePut(cacheNames = EMPLOYEES_CACHE, key = "#result.id", condition = "#result != null")
+    public Optional<Employee> saveEmployeeBehind(Employee employee) {
+        if (writeBuffer == null){
+            return Optional.empty();
+        }
+        if (isEmailTaken(employee.getEmail(), null)){
+            throw new ResourceNotFoundException("Employee already exists with given email: " + employee.getEmail());
+        }
+        Optional<Employee> accepted = Optional.ofNullable(writeBuffer.offerCreate(employee));
+        accepted.ifPresent(savedEmployee -> emailFilter.put(savedEmployee.getEmail()));
+        return accepted;
+    }
+
+    @Override
+    @Transactional
+    public List<Employee> saveEmployees(List<Employee> employees) {
+        Set<String> emails = new HashSet<>();
+        List<String> duplicates = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (!emails.add(employee.getEmail())) {
+                duplicates.add(employee.getEmail());
+            }
+        }
+        duplicates.addAll(getTakenEmails(emails));
+        if (!duplicates.isEmpty()){
+            throw new ResourceNotFoundException("Employees already exist with given emails: " + duplicates);
+        }
+
+        List<Employee> savedEmployees = new ArrayList<>(employees.size());
+        try {
+            for (int from = 0; from < employees.size(); from += BATCH_SIZE) {
+                List<Employee> batch = employees.subList(from, Math.min(from + BATCH_SIZE, employees.size()));
+                savedEmployees.addAll(employeeRepository.saveAll(batch));
+                batch.forEach(employee -> {
+                    afterCommit(() -> emailFilter.put(employee.getEmail()));
+                    indexed(EmployeeView.from(employee));
+                });
+                // push the batch out and drop it from the persistence context so large requests stay flat; the
+                // flush goes through the repository so that a constraint violation is translated like any other
+                employeeRepository.flush();
+                entityManager.clear();
+            }
+        } catch (DataIntegrityViolationException e) {
+            // an email taken by a concurrent writer after the check above
+            if (isEmailConflict(e)){
+                throw new ResourceNotFoundException("Employees already exist with given emails", e);
+            }
+            throw e;
+        }
+        return savedEmployees;
     }
 
+    // taken in the table or by a buffered write that has not been flushed yet
     @Override
+    public List<String> getTakenEmails(Collection<String> emails) {
+        List<String> taken = new ArrayList<>(employeeRepository.findExistingEmails(emails));
+        if (writeBuffer != null && writeBuffer.size() > 0){
+            emails.stream().filter(email -> !taken.contains(email) && writeBuffer.findByEmail(email).isPresent()).forEach(taken::add);
+        }
+        return taken;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeView> getAllEmployeeViews() {
+        List<EmployeeView> employees = servesSnapshot() ? snapshot.getViewsAfter(Long.MIN_VALUE, Integer.MAX_VALUE)
+                : employeeRepository.findAllViews();
+        return readThroughBuffer(employees, employee -> true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeView> getEmployeesAfter(long afterId, int limit) {
+        List<EmployeeView> page = servesSnapshot() ? snapshot.getViewsAfter(afterId, limit)
+                : employeeRepository.findViewsAfter(afterId, PageRequest.ofSize(limit));
+        List<EmployeeView> employees = readThroughBuffer(page, employee -> employee.id() > afterId);
+        return employees.size() > limit ? employees.subList(0, limit) : employees;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EmployeeView> getEmployeeByEmail(String email) {
+        return readThroughBuffer(employeeRepository.findViewByEmail(email).stream().toList(),
+                employee -> Objects.equals(employee.email(), email)).stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeView> getEmployeesByName(String firstName, String lastName) {
+        return readThroughBuffer(employeeRepository.findViewsByName(firstName, lastName),
+                employee -> Objects.equals(employee.firstName(), firstName) && Objects.equals(employee.lastName(), lastName));
+    }
+
+    // answered from the in-memory name index, no database round trip
+    @Override
+    public List<EmployeeView> searchEmployees(String prefix, int limit) {
+        return nameIndex.search(prefix, limit);
+    }
+
+    // answered from the in-memory counters, no database round trip
+    @Override
+    public EmployeeStats getStatistics(int top) {
+        return statistics.snapshot(top);
+    }
+
+    // the transaction keeps the cursor open while rows are handed to the consumer; each row is
+    // detached once consumed so the persistence context never grows with the table. Rows are read as the
+    // stream is consumed, after a query's own cache mode has been reset, so the session ignores the
+    // second-level cache meanwhile and the scan does not push the hot entries out of the employee region
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<Employee> action) {
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                action.accept(employee);
+                entityManager.detach(employee);
+            });
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+    }
+
+    // concurrent cache misses are coalesced by the lookup batcher, which loads in a read-only transaction of its
+    // own; there is none here, so a caller waiting for its batch does not hold a connection. A mapped snapshot is
+    // cheaper to read than the cache and would be shadowed by it after a swap, so it bypasses the cache
+    @Override
+    @Cacheable(cacheNames = EMPLOYEES_CACHE, key = "#id", unless = "#result == null", condition = "!#root.target.servesSnapshot()")
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+        Optional<Employee> buffered = writeBuffer != null ? writeBuffer.get(id) : Optional.empty();
+        if (buffered.isPresent()){
+            return buffered;
+        }
+        if (servesSnapshot()){
+            return snapshot.get(id);
+        }
+        return lookupBatcher != null ? lookupBatcher.load(id) : employeeRepository.findById(id);
     }
 
+    // for the read-before-write of an update: the buffered write if there is one, otherwise the row from the
+    // primary. The cache, the snapshot and the replicas may all lag behind the row that is about to be written
     @Override
+    public Optional<Employee> getEmployeeForUpdate(long id) {
+        Optional<Employee> buffered = writeBuffer != null ? writeBuffer.get(id) : Optional.empty();
+        return buffered.isPresent() ? buffered : employeeRepository.findLatestById(id);
+    }
+
+    // evicted up front so a failed update never leaves a half-applied instance in the cache,
+    // then refreshed with what was actually written
+    @Override
+    @Caching(
+            evict = @CacheEvict(cacheNames = EMPLOYEES_CACHE, key = "#employee.id", beforeInvocation = true),
+            put = @CachePut(cacheNames = EMPLOYEES_CACHE, key = "#result.id")
+    )
     public Employee updateEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        try {
+            Employee updatedEmployee = employeeRepository.save(employee);
+            forgetLookup(updatedEmployee.getId());
+            afterCommit(() -> emailFilter.put(updatedEmployee.getEmail()));
+            indexed(EmployeeView.from(updatedEmployee));
+            return updatedEmployee;
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)){
+                throw new ResourceNotFoundException("Employee already exists with given email: " + employee.getEmail(), e);
+            }
+            throw e;
+        }
+    }
+
+    // buffered like saveEmployeeBehind. The version on the employee is the one the caller last saw, checked
+    // against the buffered write if there is one and against the primary otherwise; an employee without a version
+    // replaces the stored one. The flush only applies the update if the row is still at the version it replaced
+    @Override
+    @Caching(
+            evict = @CacheEvict(cacheNames = EMPLOYEES_CACHE, key = "#employee.id", beforeInvocation = true),
+            put = @CachePut(cacheNames = EMPLOYEES_CACHE, key = "#result.id", condition = "#result != null")
+    )
+    public Optional<Employee> updateEmployeeBehind(Employee employee) {
+        if (writeBuffer == null){
+            return Optional.empty();
+        }
+        Employee update = employee;
+        if (writeBuffer.get(employee.getId()).isEmpty()){
+            Long stored = employeeRepository.findLatestById(employee.getId()).map(Employee::getVersion).orElse(null);
+            if (stored == null || employee.getVersion() != null && !employee.getVersion().equals(stored)){
+                throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getId());
+            }
+            update = employee.toBuilder().version(stored).build();
+        }
+        if (isEmailTaken(employee.getEmail(), employee.getId())){
+            throw new ResourceNotFoundException("Employee already exists with given email: " + employee.getEmail());
+        }
+        Optional<Employee> accepted = Optional.ofNullable(writeBuffer.offerUpdate(update));
+        accepted.ifPresent(updatedEmployee -> emailFilter.put(updatedEmployee.getEmail()));
+        return accepted;
+    }
+
+    // one UPDATE for the supplied fields only, no load-then-merge. A version on the changes is the version
+    // the caller last saw: the update only applies if the row is still at it
+    @Override
+    @CacheEvict(cacheNames = EMPLOYEES_CACHE, key = "#id")
+    public boolean patchEmployee(long id, Employee changes) {
+        flushWriteBuffer();
+        try {
+            int updated = employeeRepository.updatePartially(id, changes.getFirstName(), changes.getLastName(),
+                    changes.getEmail(), changes.getVersion());
+            if (updated == 0){
+                if (changes.getVersion() != null && employeeRepository.findLatestById(id).isPresent()){
+                    throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+                }
+                return false;
+            }
+            forgetLookup(id);
+            afterCommit(() -> {
+                emailFilter.put(changes.getEmail());
+                EmployeeView previous = nameIndex.get(id);
+                if (previous != null){
+                    EmployeeView patched = new EmployeeView(id,
+                            changes.getFirstName() != null ? changes.getFirstName() : previous.firstName(),
+                            changes.getLastName() != null ? changes.getLastName() : previous.lastName(),
+                            changes.getEmail() != null ? changes.getEmail() : previous.email(),
+                            previous.version() != null ? previous.version() + 1 : null);
+                    statistics.update(nameIndex.put(patched), patched);
+                }
+            });
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)){
+                throw new ResourceNotFoundException("Employee already exists with given email: " + changes.getEmail(), e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    @CacheEvict(cacheNames = EMPLOYEES_CACHE, key = "#id")
+    public int deleteEmployee(long id) {
+        flushWriteBuffer();
+        int deleted = employeeRepository.deleteDirectly(id);
+        forgetLookup(id);
+        removed(id);
+        return deleted;
+    }
+
+    // each chunk is its own statement and transaction, so locks are held only for one chunk at a time
+    @Override
+    @CacheEvict(cacheNames = EMPLOYEES_CACHE, allEntries = true)
+    public int deleteEmployees(Collection<Long> ids) {
+        flushWriteBuffer();
+        List<Long> distinctIds = List.copyOf(new HashSet<>(ids));
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinctIds.size()));
+            deleted += employeeRepository.deleteAllDirectly(chunk);
+            chunk.forEach(id -> {
+                forgetLookup(id);
+                removed(id);
+            });
+        }
+        return deleted;
     }
 
     @Override
-    public void deleteEmployee(long id) {
-        employeeRepository.deleteById(id);
+    @CacheEvict(cacheNames = EMPLOYEES_CACHE, allEntries = true)
+    public int deleteEmployeesByEmailDomain(String domain) {
+        flushWriteBuffer();
+        return deleteEmployees(employeeRepository.findIdsByEmailDomain(domain));
+    }
+
+    // the filter only decides whether a lookup is worth it; a buffered write holding the email counts as taken
+    private boolean isEmailTaken(String email, Long exceptId) {
+        if (writeBuffer != null && writeBuffer.findByEmail(email).filter(employee -> !employee.getId().equals(exceptId)).isPresent()){
+            return true;
+        }
+        return emailFilter.mightContain(email)
+                && employeeRepository.findByEmail(email).filter(employee -> !employee.getId().equals(exceptId)).isPresent();
+    }
+
+    // the stored employees matching a query with their buffered writes applied: a buffered employee replaces its
+    // stored row, and joins the result if it matches, in id order
+    private List<EmployeeView> readThroughBuffer(List<EmployeeView> stored, Predicate<EmployeeView> matches) {
+        if (writeBuffer == null || writeBuffer.size() == 0){
+            return stored;
+        }
+        Map<Long, EmployeeView> employees = new TreeMap<>();
+        stored.forEach(employee -> employees.put(employee.id(), employee));
+        for (Employee buffered : writeBuffer.snapshot()) {
+            EmployeeView employee = EmployeeView.from(buffered);
+            if (matches.test(employee)){
+                employees.put(employee.id(), employee);
+            } else {
+                employees.remove(employee.id());
+            }
+        }
+        return new ArrayList<>(employees.values());
+    }
+
+    // patches and deletes go straight to the table, so buffered writes are committed first and cannot land on top
+    private void flushWriteBuffer() {
+        if (writeBuffer != null){
+            writeBuffer.flush();
+        }
+    }
+
+    // true once the snapshot mode has a file mapped; until the first export lands, reads go to the database.
+    // Only getEmployeeById and the id-ordered listings are answered from the snapshot. Lookups by email or name
+    // still query the database, search uses the name index, and getEmployeeForUpdate always reads the primary,
+    // since a write must never start from a snapshot up to one export interval old
+    public boolean servesSnapshot() {
+        return snapshot != null && snapshot.isLoaded();
+    }
+
+    private void forgetLookup(long id) {
+        if (lookupBatcher != null){
+            lookupBatcher.forget(id);
+        }
+    }
+
+    // the name index hands back the entry it replaced, which is what the counters move away from
+    private void indexed(EmployeeView employee) {
+        afterCommit(() -> statistics.update(nameIndex.put(employee), employee));
+    }
+
+    private void removed(long id) {
+        afterCommit(() -> statistics.update(nameIndex.remove(id), null));
+    }
+
+    // the in-memory structures only follow committed rows: inside a transaction the update waits for its commit
+    // and is dropped with a rollback, outside of one the write has committed already
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()){
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(Employee.EMAIL_INDEX);
     }
 }
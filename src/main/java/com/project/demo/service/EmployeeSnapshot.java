@@ -0,0 +1,212 @@
+package com.project.demo.service;
+
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+// Read-only employees served from a memory-mapped snapshot file written by EmployeeSnapshotWriter
+// (employee.snapshot.enabled). The file holds the rows in id order followed by an index of their ids and
+// offsets; a lookup is a binary search over the mapped ids, and only the row that was found is decoded, so the
+// heap holds no per-employee state. A newer file at the same path is mapped and swapped in whole when polled;
+// lookups still running keep the mapping they started with, which is released once nothing refers to it.
+//
+// Layout (big-endian): magic, format version, count, index offset (int each); per row the version (long) and
+// first name, last name and email (unsigned short length + UTF-8); the index is count ids (long, ascending)
+// followed by count row offsets (int).
+public class EmployeeSnapshot {
+
+    public static final String EMPLOYEES_GAUGE = "employee.snapshot.employees";
+
+    public static final String SWAPS_COUNTER = "employee.snapshot.swaps";
+
+    static final int MAGIC = 0x454d5053;
+
+    static final int FORMAT_VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+
+    static final int NULL_LENGTH = 0xffff;
+
+    private final Path path;
+
+    private final Counter swaps;
+
+    // null until a snapshot has been mapped
+    private volatile Mapping current;
+
+    public EmployeeSnapshot(Path path, MeterRegistry meterRegistry) {
+        this.path = path;
+        this.swaps = meterRegistry.counter(SWAPS_COUNTER);
+        Gauge.builder(EMPLOYEES_GAUGE, this, EmployeeSnapshot::size).register(meterRegistry);
+        reload();
+    }
+
+    public boolean isLoaded() {
+        return current != null;
+    }
+
+    public int size() {
+        Mapping mapping = current;
+        return mapping == null ? 0 : mapping.count;
+    }
+
+    public Optional<Employee> get(long id) {
+        Mapping mapping = current;
+        if (mapping == null) {
+            return Optional.empty();
+        }
+        int index = mapping.indexOf(id);
+        return index < 0 ? Optional.empty() : Optional.of(mapping.employee(index));
+    }
+
+    // the employees with an id greater than afterId, in id order
+    public List<EmployeeView> getViewsAfter(long afterId, int limit) {
+        Mapping mapping = current;
+        if (mapping == null) {
+            return List.of();
+        }
+        int index = mapping.indexOf(afterId);
+        int from = index < 0 ? -index - 1 : index + 1;
+        int to = (int) Math.min((long) from + limit, mapping.count);
+        List<EmployeeView> employees = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            employees.add(EmployeeView.from(mapping.employee(i)));
+        }
+        return employees;
+    }
+
+    // maps the file at path if it is not the one already mapped; a missing file keeps the current snapshot, an
+    // unreadable one is reported and keeps it too
+    @Scheduled(fixedDelayString = "${employee.snapshot.poll-interval}")
+    public void reload() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            // a rename over the path gives a new file key; the modification time covers file systems without one
+            Object identity = attributes.fileKey() != null ? attributes.fileKey() : attributes.lastModifiedTime();
+            Mapping mapping = current;
+            if (mapping != null && Objects.equals(mapping.identity, identity)) {
+                return;
+            }
+            current = map(identity);
+            if (mapping != null) {
+                swaps.increment();
+            }
+        } catch (NoSuchFileException e) {
+            // nothing exported yet
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map the employee snapshot " + path, e);
+        }
+    }
+
+    private Mapping map(Object identity) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not an employee snapshot, size " + channel.size());
+            }
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Not an employee snapshot of format version " + FORMAT_VERSION);
+        }
+        int count = buffer.getInt(8);
+        int indexOffset = buffer.getInt(12);
+        if (count < 0 || indexOffset < HEADER_SIZE || (long) indexOffset + 12L * count != buffer.capacity()) {
+            throw new IOException("Employee snapshot is truncated or corrupt");
+        }
+        return new Mapping(identity, buffer, count, indexOffset);
+    }
+
+    // only absolute gets are used, which leave the buffer's position alone, so readers can share it
+    private static final class Mapping {
+
+        private final Object identity;
+
+        private final ByteBuffer buffer;
+
+        private final int count;
+
+        private final int idsOffset;
+
+        private final int offsetsOffset;
+
+        private Mapping(Object identity, ByteBuffer buffer, int count, int indexOffset) {
+            this.identity = identity;
+            this.buffer = buffer;
+            this.count = count;
+            this.idsOffset = indexOffset;
+            this.offsetsOffset = indexOffset + 8 * count;
+        }
+
+        // same contract as Arrays.binarySearch: the position of id, or -(insertion point) - 1
+        private int indexOf(long id) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midId = buffer.getLong(idsOffset + 8 * mid);
+                if (midId < id) {
+                    low = mid + 1;
+                } else if (midId > id) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private Employee employee(int index) {
+            int offset = buffer.getInt(offsetsOffset + 4 * index);
+            long version = buffer.getLong(offset);
+            offset += 8;
+            String firstName = string(offset);
+            offset += length(firstName, offset);
+            String lastName = string(offset);
+            offset += length(lastName, offset);
+            String email = string(offset);
+            return Employee.builder()
+                    .id(buffer.getLong(idsOffset + 8 * index))
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .email(email)
+                    .version(version)
+                    .build();
+        }
+
+        private String string(int offset) {
+            int length = Short.toUnsignedInt(buffer.getShort(offset));
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(offset + 2, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        // bytes taken by the length and value at offset
+        private int length(String value, int offset) {
+            return value == null ? 2 : 2 + Short.toUnsignedInt(buffer.getShort(offset));
+        }
+
+    }
+
+}
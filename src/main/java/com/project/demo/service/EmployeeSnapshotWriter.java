@@ -0,0 +1,124 @@
+package com.project.demo.service;
+
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.repository.EmployeeRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+// Exports the employees table into the snapshot file read by EmployeeSnapshot (employee.snapshot.export).
+// The table is read in id order, one keyset page at a time, into a temporary file next to the target, which is
+// then renamed over it: a reader either sees the previous snapshot or the complete new one, never a partial file.
+public class EmployeeSnapshotWriter {
+
+    static final int PAGE_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final Path path;
+
+    public EmployeeSnapshotWriter(EmployeeRepository employeeRepository, Path path) {
+        this.employeeRepository = employeeRepository;
+        this.path = path;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.snapshot.export-interval}")
+    public void export() {
+        Path directory = path.toAbsolutePath().getParent();
+        try {
+            Path written = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try {
+                write(written);
+                Files.move(written, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(written);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not export the employee snapshot to " + path, e);
+        }
+    }
+
+    // the header is written last, once the position of the index is known
+    private void write(Path file) throws IOException {
+        long[] ids = new long[PAGE_SIZE];
+        int[] offsets = new int[PAGE_SIZE];
+        int count = 0;
+        long afterId = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.write(new byte[EmployeeSnapshot.HEADER_SIZE]);
+            List<EmployeeView> page;
+            do {
+                page = employeeRepository.findViewsAfter(afterId, PageRequest.ofSize(PAGE_SIZE));
+                for (EmployeeView employee : page) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                    }
+                    ids[count] = employee.id();
+                    offsets[count] = checkedPosition(out);
+                    count++;
+                    out.writeLong(employee.version());
+                    writeString(out, employee.firstName());
+                    writeString(out, employee.lastName());
+                    writeString(out, employee.email());
+                    afterId = employee.id();
+                }
+            } while (page.size() == PAGE_SIZE);
+            int indexOffset = checkedPosition(out);
+            for (int i = 0; i < count; i++) {
+                out.writeLong(ids[i]);
+            }
+            for (int i = 0; i < count; i++) {
+                out.writeInt(offsets[i]);
+            }
+            checkedPosition(out);
+            ByteBuffer header = ByteBuffer.allocate(EmployeeSnapshot.HEADER_SIZE)
+                    .putInt(EmployeeSnapshot.MAGIC)
+                    .putInt(EmployeeSnapshot.FORMAT_VERSION)
+                    .putInt(count)
+                    .putInt(indexOffset)
+                    .flip();
+            out.flush();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.write(header, 0);
+                channel.force(true);
+            }
+        }
+    }
+
+    // a snapshot is mapped as a single buffer, which addresses at most 2 GB; the stream's count stops there too
+    private static int checkedPosition(DataOutputStream out) {
+        if (out.size() == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Employee snapshot exceeds 2 GB");
+        }
+        return out.size();
+    }
+
+    // unsigned length, then UTF-8 bytes; NULL_LENGTH marks a null value
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(EmployeeSnapshot.NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= EmployeeSnapshot.NULL_LENGTH) {
+            throw new IllegalStateException("Value too long for the employee snapshot: " + value.substring(0, 20) + "...");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+}
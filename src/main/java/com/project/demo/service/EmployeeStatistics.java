@@ -0,0 +1,101 @@
+package com.project.demo.service;
+
+import com.project.demo.dto.EmployeeStats;
+import com.project.demo.dto.EmployeeView;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-memory employee counts for the stats endpoint: the total, employees per email domain and first and last
+// name frequencies. Built from the table at startup, moved by one on every create, update and delete by
+// whichever employee service is active, and swapped for a fresh count from the table on a schedule, which
+// corrects any drift (writes that bypassed the application, or that raced with the previous rebuild).
+@Component
+public class EmployeeStatistics {
+
+    private final AtomicReference<Counters> counters = new AtomicReference<>(new Counters());
+
+    // applies the change from previous to current, either of which is null for a create or delete
+    public void update(EmployeeView previous, EmployeeView current) {
+        Counters active = counters.get();
+        if (previous != null) {
+            active.remove(previous);
+        }
+        if (current != null) {
+            active.add(current);
+        }
+    }
+
+    public void reset(Counters fresh) {
+        counters.set(fresh);
+    }
+
+    // the total and the top entries of every breakdown, most frequent first
+    public EmployeeStats snapshot(int top) {
+        Counters active = counters.get();
+        return new EmployeeStats(active.total.sum(), top(active.emailDomains, top), top(active.firstNames, top),
+                top(active.lastNames, top));
+    }
+
+    private static Map<String, Long> top(Map<String, Long> counts, int limit) {
+        Comparator<Map.Entry<String, Long>> byCount = Map.Entry.<String, Long>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+        PriorityQueue<Map.Entry<String, Long>> smallest = new PriorityQueue<>(byCount);
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            smallest.add(Map.entry(entry.getKey(), entry.getValue()));
+            if (smallest.size() > limit) {
+                smallest.poll();
+            }
+        }
+        Map<String, Long> result = new LinkedHashMap<>();
+        smallest.stream().sorted(byCount.reversed()).forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    // One generation of counts. A count that drops to zero is removed, so the maps only hold values
+    // that some employee currently has.
+    public static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+
+        private final Map<String, Long> emailDomains = new ConcurrentHashMap<>();
+
+        private final Map<String, Long> firstNames = new ConcurrentHashMap<>();
+
+        private final Map<String, Long> lastNames = new ConcurrentHashMap<>();
+
+        public void add(EmployeeView employee) {
+            total.increment();
+            count(emailDomains, domain(employee.email()), 1);
+            count(firstNames, employee.firstName(), 1);
+            count(lastNames, employee.lastName(), 1);
+        }
+
+        void remove(EmployeeView employee) {
+            total.decrement();
+            count(emailDomains, domain(employee.email()), -1);
+            count(firstNames, employee.firstName(), -1);
+            count(lastNames, employee.lastName(), -1);
+        }
+
+        private static void count(Map<String, Long> counts, String key, long delta) {
+            if (key != null && !key.isEmpty()) {
+                counts.merge(key, delta, (count, change) -> count + change == 0 ? null : count + change);
+            }
+        }
+
+        private static String domain(String email) {
+            int at = email == null ? -1 : email.lastIndexOf('@');
+            return at < 0 ? null : email.substring(at + 1).toLowerCase(Locale.ROOT);
+        }
+
+    }
+
+}
@@ -0,0 +1,469 @@
+package com.project.demo.service;
+
+import com.project.demo.config.WriteBehindProperties;
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.exception.ResourceNotFoundException;
+import com.project.demo.model.Employee;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Write-behind buffer for employee creates and full updates (employee.write-behind.enabled). An accepted write is
+// held in memory by employee id and answered at once; a later write to the same id replaces it, so a burst of
+// updates to one employee costs a single row in the next flush. A background thread flushes once batchSize writes
+// are waiting, and otherwise every flushInterval, committing up to batchSize rows per transaction: the creates in
+// one INSERT statement, the updates each as an UPDATE guarded by the version the update was based on. Until its
+// flush has committed, a write is what get and findByEmail return, which is how the service keeps
+// read-your-writes; the name index and the statistics follow at commit.
+// A write that can no longer be applied has already had its 202, so it is dropped and counted: an update whose row
+// was deleted or changed meanwhile by a synchronous write in employee.write-behind.conflicts, a row the database
+// refuses (an email taken meanwhile) in employee.write-behind.dropped. A row failing for any other lasting reason
+// is moved to the dead letters right away; a failure that may pass (the database unreachable) leaves the batch for
+// the next flush, until a write has failed maxAttempts times and is moved to the dead letters too. Every failure is
+// logged, and the dead letters are kept (the latest capacity of them) for inspection and counted in
+// employee.write-behind.dead-letters. Whatever is still waiting on shutdown is flushed then.
+public class EmployeeWriteBuffer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWriteBuffer.class);
+
+    public static final String PENDING_GAUGE = "employee.write-behind.pending";
+
+    public static final String FLUSH_TIMER = "employee.write-behind.flush";
+
+    public static final String LAG_TIMER = "employee.write-behind.lag";
+
+    public static final String DROPPED_COUNTER = "employee.write-behind.dropped";
+
+    public static final String CONFLICTS_COUNTER = "employee.write-behind.conflicts";
+
+    public static final String DEAD_LETTERS_GAUGE = "employee.write-behind.dead-letters";
+
+    private static final String INSERT = "insert into employees (id, first_name, last_name, email, version) values ";
+
+    private static final String UPDATE = "update employees set first_name = ?1, last_name = ?2, email = ?3, version = ?4 " +
+            "where id = ?5 and version = ?6";
+
+    // the native writes bypass the repositories, so their exceptions are translated here
+    private static final PersistenceExceptionTranslator EXCEPTIONS = new HibernateJpaDialect();
+
+    private final WriteBehindProperties properties;
+
+    private final LongSupplier ids;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactions;
+
+    private final EmployeeNameIndex nameIndex;
+
+    private final EmployeeStatistics statistics;
+
+    // the service's employees cache, null when caching is off
+    private final Cache cache;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // guarded by lock, in the order the writes came in; a replacing write takes over its predecessor's place
+    private final Map<Long, Pending> pending = new LinkedHashMap<>();
+
+    private final Map<String, Long> pendingEmails = new HashMap<>();
+
+    // guarded by lock, oldest first
+    private final Deque<Employee> deadLetters = new ArrayDeque<>();
+
+    // one flush at a time, whether from the background thread or a caller of flush()
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "employee-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EmployeeWriteBuffer(WriteBehindProperties properties, LongSupplier ids, EntityManager entityManager,
+                               TransactionTemplate transactions, EmployeeNameIndex nameIndex, EmployeeStatistics statistics,
+                               Cache cache, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ids = ids;
+        this.entityManager = entityManager;
+        this.transactions = transactions;
+        this.nameIndex = nameIndex;
+        this.statistics = statistics;
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(PENDING_GAUGE, this, EmployeeWriteBuffer::size).register(meterRegistry);
+        Gauge.builder(DEAD_LETTERS_GAUGE, this, buffer -> buffer.deadLetters().size()).register(meterRegistry);
+        long interval = properties.flushInterval().toNanos();
+        flusher.scheduleWithFixedDelay(this::flushInBackground, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    // takes a new employee, assigning its id and first version; null when the buffer is full
+    public Employee offerCreate(Employee employee) {
+        Employee created = copy(employee);
+        created.setId(ids.getAsLong());
+        created.setVersion(0L);
+        lock.lock();
+        try {
+            if (pending.size() >= properties.capacity()) {
+                return null;
+            }
+            put(created, null, true);
+        } finally {
+            lock.unlock();
+        }
+        flushIfBatchWaiting();
+        return copy(created);
+    }
+
+    // takes a full update of an existing employee, whose version is the one the caller means to replace (required
+    // unless the buffer holds an earlier write for the employee); null when the buffer is full and holds none
+    public Employee offerUpdate(Employee employee) {
+        Employee updated = copy(employee);
+        lock.lock();
+        try {
+            Pending previous = pending.get(employee.getId());
+            if (previous == null && pending.size() >= properties.capacity()) {
+                return null;
+            }
+            Long current = previous != null ? previous.employee().getVersion() : employee.getVersion();
+            if (current == null) {
+                throw new IllegalArgumentException("The version to replace is required for employee " + employee.getId());
+            }
+            if (employee.getVersion() != null && !employee.getVersion().equals(current)) {
+                throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getId());
+            }
+            updated.setVersion(current + 1);
+            put(updated, previous, previous != null && previous.created());
+        } finally {
+            lock.unlock();
+        }
+        flushIfBatchWaiting();
+        return copy(updated);
+    }
+
+    public Optional<Employee> get(long id) {
+        lock.lock();
+        try {
+            return Optional.ofNullable(pending.get(id)).map(write -> copy(write.employee()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        lock.lock();
+        try {
+            Long id = pendingEmails.get(email);
+            return id == null ? Optional.empty() : Optional.of(copy(pending.get(id).employee()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // every waiting write, in id order
+    public List<Employee> snapshot() {
+        lock.lock();
+        try {
+            return pending.values().stream()
+                    .map(write -> copy(write.employee()))
+                    .sorted((left, right) -> Long.compare(left.getId(), right.getId()))
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // the writes given up on, oldest first
+    public List<Employee> deadLetters() {
+        lock.lock();
+        try {
+            return deadLetters.stream().map(EmployeeWriteBuffer::copy).toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // commits the writes waiting at the time of the call, one batch per transaction; writes accepted meanwhile are
+    // left to the next flush
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Pending> waiting;
+            lock.lock();
+            try {
+                waiting = new ArrayList<>(pending.values());
+            } finally {
+                lock.unlock();
+            }
+            for (int from = 0; from < waiting.size(); from += properties.batchSize()) {
+                write(waiting.subList(from, Math.min(from + properties.batchSize(), waiting.size())));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(1, TimeUnit.MINUTES);
+        flush();
+    }
+
+    private void put(Employee employee, Pending previous, boolean created) {
+        String email = employee.getEmail();
+        Long owner = email != null ? pendingEmails.get(email) : null;
+        if (owner != null && !owner.equals(employee.getId())) {
+            throw new ResourceNotFoundException("Employee already exists with given email: " + email);
+        }
+        if (previous != null && previous.employee().getEmail() != null) {
+            pendingEmails.remove(previous.employee().getEmail(), employee.getId());
+        }
+        if (email != null) {
+            pendingEmails.put(email, employee.getId());
+        }
+        pending.put(employee.getId(), new Pending(employee, created, previous != null ? previous.acceptedAt() : System.nanoTime(),
+                new AtomicInteger()));
+    }
+
+    private void flushIfBatchWaiting() {
+        if (size() >= properties.batchSize() && !flusher.isShutdown() && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushInBackground);
+        }
+    }
+
+    private void flushInBackground() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Write-behind flush failed, {} writes left for the next flush", size(), e);
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            try {
+                apply(batch);
+            } catch (NonTransientDataAccessException e) {
+                // a single bad row fails the whole transaction: write the rows one by one and take the bad ones out
+                for (Pending write : batch) {
+                    try {
+                        apply(List.of(write));
+                    } catch (DataIntegrityViolationException refused) {
+                        log.warn("Write-behind dropped employee {}, refused by the database", write.employee().getId(), refused);
+                        drop(write, DROPPED_COUNTER);
+                    } catch (NonTransientDataAccessException failed) {
+                        giveUp(write, failed);
+                    }
+                }
+            }
+            outcome = "success";
+        } catch (RuntimeException e) {
+            // may pass, so the batch stays for the next flush; a write out of attempts is given up
+            for (Pending write : batch) {
+                if (write.attempts().incrementAndGet() >= properties.maxAttempts()) {
+                    giveUp(write, e);
+                }
+            }
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(FLUSH_TIMER, "outcome", outcome));
+        }
+    }
+
+    // once committed, the rows leave the buffer (unless a newer write replaced them meanwhile) and are indexed;
+    // an update that matched no row is dropped as a conflict instead
+    private void apply(List<Pending> batch) {
+        List<Pending> conflicts;
+        try {
+            conflicts = transactions.execute(status -> {
+                insert(batch.stream().filter(Pending::created).toList());
+                List<Pending> unmatched = new ArrayList<>();
+                for (Pending write : batch) {
+                    if (!write.created() && update(write) == 0) {
+                        unmatched.add(write);
+                    }
+                }
+                return unmatched;
+            });
+        } catch (RuntimeException e) {
+            DataAccessException translated = EXCEPTIONS.translateExceptionIfPossible(e);
+            throw translated != null ? translated : e;
+        }
+        long committedAt = System.nanoTime();
+        Timer lag = meterRegistry.timer(LAG_TIMER);
+        for (Pending write : batch) {
+            if (conflicts != null && conflicts.contains(write)) {
+                drop(write, CONFLICTS_COUNTER);
+                continue;
+            }
+            lag.record(committedAt - write.acceptedAt(), TimeUnit.NANOSECONDS);
+            EmployeeView employee = EmployeeView.from(write.employee());
+            statistics.update(nameIndex.put(employee), employee);
+            committed(write);
+        }
+    }
+
+    private void insert(List<Pending> creates) {
+        if (creates.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(INSERT);
+        for (int row = 0; row < creates.size(); row++) {
+            int first = row * 5 + 1;
+            sql.append(row == 0 ? "" : ", ").append("(?").append(first).append(", ?").append(first + 1)
+                    .append(", ?").append(first + 2).append(", ?").append(first + 3).append(", ?").append(first + 4).append(')');
+        }
+        NativeQuery<?> query = nativeWrite(sql.toString());
+        int parameter = 1;
+        for (Pending write : creates) {
+            Employee employee = write.employee();
+            query.setParameter(parameter++, employee.getId());
+            query.setParameter(parameter++, employee.getFirstName());
+            query.setParameter(parameter++, employee.getLastName());
+            query.setParameter(parameter++, employee.getEmail());
+            query.setParameter(parameter++, employee.getVersion());
+        }
+        query.executeUpdate();
+    }
+
+    // only applies if the row is still at the version the update replaced, so neither a newer synchronous write
+    // is overwritten nor a deleted employee brought back
+    private int update(Pending write) {
+        Employee employee = write.employee();
+        return nativeWrite(UPDATE)
+                .setParameter(1, employee.getFirstName())
+                .setParameter(2, employee.getLastName())
+                .setParameter(3, employee.getEmail())
+                .setParameter(4, employee.getVersion())
+                .setParameter(5, employee.getId())
+                .setParameter(6, employee.getVersion() - 1)
+                .executeUpdate();
+    }
+
+    // invalidates the Employee entity region and the cached employee queries, like any Hibernate write
+    private NativeQuery<?> nativeWrite(String sql) {
+        return entityManager.createNativeQuery(sql).unwrap(NativeQuery.class).addSynchronizedEntityClass(Employee.class);
+    }
+
+    private void drop(Pending write, String counter) {
+        remove(write);
+        if (cache != null) {
+            cache.evict(write.employee().getId());
+        }
+        meterRegistry.counter(counter).increment();
+    }
+
+    // out of the buffer and into the dead letters, unless a newer write replaced it meanwhile
+    private void giveUp(Pending write, RuntimeException cause) {
+        Employee employee = write.employee();
+        lock.lock();
+        try {
+            if (pending.get(employee.getId()) != write) {
+                return;
+            }
+            deadLetters.addLast(employee);
+            if (deadLetters.size() > properties.capacity()) {
+                deadLetters.removeFirst();
+            }
+        } finally {
+            lock.unlock();
+        }
+        remove(write);
+        if (cache != null) {
+            cache.evict(employee.getId());
+        }
+        log.error("Write-behind gave up on employee {} after {} failed flushes", employee.getId(),
+                Math.max(write.attempts().get(), 1), cause);
+    }
+
+    // a create that replaced the committed write is an update from now on, as its row exists
+    private void committed(Pending write) {
+        Employee employee = write.employee();
+        lock.lock();
+        try {
+            Pending current = pending.get(employee.getId());
+            if (current != write && current != null && current.created()) {
+                pending.put(employee.getId(), new Pending(current.employee(), false, current.acceptedAt(), current.attempts()));
+            }
+        } finally {
+            lock.unlock();
+        }
+        remove(write);
+    }
+
+    private void remove(Pending write) {
+        Employee employee = write.employee();
+        lock.lock();
+        try {
+            if (pending.get(employee.getId()) == write) {
+                pending.remove(employee.getId());
+                if (employee.getEmail() != null) {
+                    pendingEmails.remove(employee.getEmail(), employee.getId());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Employee copy(Employee employee) {
+        return Employee.builder()
+                .id(employee.getId())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .version(employee.getVersion())
+                .build();
+    }
+
+    // created while the employee's row does not exist yet, so the write is an insert; acceptedAt is when the first
+    // of the writes it replaced came in, the start of the flush lag; attempts counts its failed flushes
+    private record Pending(Employee employee, boolean created, long acceptedAt, AtomicInteger attempts) {
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.project.demo.service;
+
+import com.project.demo.dto.EmployeeStats;
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.exception.ResourceNotFoundException;
+import com.project.demo.model.Employee;
+import com.project.demo.repository.ReactiveEmployeeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// EmployeeServiceImpl for the "reactive" profile: the same rules (unique emails, versioned writes, the
+// in-memory email filter and name index kept current), but every call returns a publisher and no thread
+// waits on the database. There is no read-through cache in front of lookups in this profile.
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final EmailBloomFilter emailFilter;
+
+    private final EmployeeNameIndex nameIndex;
+
+    private final EmployeeStatistics statistics;
+
+    public ReactiveEmployeeService(ReactiveEmployeeRepository employeeRepository, TransactionalOperator transactionalOperator,
+                                   EmailBloomFilter emailFilter, EmployeeNameIndex nameIndex, EmployeeStatistics statistics) {
+        this.employeeRepository = employeeRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.emailFilter = emailFilter;
+        this.nameIndex = nameIndex;
+        this.statistics = statistics;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        EmployeeStatistics.Counters counters = new EmployeeStatistics.Counters();
+        employeeRepository.findAll()
+                .doOnNext(employee -> {
+                    emailFilter.put(employee.email());
+                    nameIndex.put(employee);
+                    counters.add(employee);
+                })
+                .then()
+                .block();
+        statistics.reset(counters);
+    }
+
+    // runs on the scheduler thread, never on an event loop, so it can wait for the recount
+    @Scheduled(initialDelayString = "${employee.stats.reconcile-interval}", fixedDelayString = "${employee.stats.reconcile-interval}")
+    public void reconcileStatistics() {
+        EmployeeStatistics.Counters counters = new EmployeeStatistics.Counters();
+        employeeRepository.findAll()
+                .doOnNext(counters::add)
+                .then()
+                .block();
+        statistics.reset(counters);
+    }
+
+    public Mono<EmployeeView> saveEmployee(Employee employee) {
+        Mono<Boolean> exists = emailFilter.mightContain(employee.getEmail())
+                ? employeeRepository.findByEmail(employee.getEmail()).hasElement()
+                : Mono.just(false);
+        return exists
+                .flatMap(found -> found
+                        ? Mono.<EmployeeView>error(emailConflict(employee.getEmail(), null))
+                        : employeeRepository.insert(employee))
+                .doOnNext(this::indexed)
+                .onErrorMap(DataIntegrityViolationException.class, e -> isEmailConflict(e) ? emailConflict(employee.getEmail(), e) : e);
+    }
+
+    // all rows in one transaction, inserted as a single batch; the name index and the statistics only take
+    // them once the transaction has committed
+    public Flux<EmployeeView> saveEmployees(List<Employee> employees) {
+        Set<String> emails = new HashSet<>();
+        List<String> duplicates = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (!emails.add(employee.getEmail())) {
+                duplicates.add(employee.getEmail());
+            }
+        }
+        return employeeRepository.findExistingEmails(emails)
+                .collectList()
+                .flatMapMany(existing -> {
+                    duplicates.addAll(existing);
+                    if (!duplicates.isEmpty()) {
+                        return Flux.error(new ResourceNotFoundException("Employees already exist with given emails: " + duplicates));
+                    }
+                    return employeeRepository.insertAll(employees);
+                })
+                .as(transactionalOperator::transactional)
+                .collectList()
+                .doOnNext(saved -> saved.forEach(this::indexed))
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    public Flux<EmployeeView> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    public Flux<EmployeeView> getEmployeesAfter(long afterId, int limit) {
+        return employeeRepository.findAfter(afterId, limit);
+    }
+
+    public Mono<EmployeeView> getEmployeeById(long id) {
+        return employeeRepository.findById(id);
+    }
+
+    public Mono<EmployeeView> getEmployeeByEmail(String email) {
+        return employeeRepository.findByEmail(email);
+    }
+
+    public Flux<EmployeeView> getEmployeesByName(String firstName, String lastName) {
+        return employeeRepository.findByName(firstName, lastName);
+    }
+
+    // answered from the in-memory name index, no database round trip
+    public Flux<EmployeeView> searchEmployees(String prefix, int limit) {
+        return Flux.fromIterable(nameIndex.search(prefix, limit));
+    }
+
+    // answered from the in-memory counters, no database round trip
+    public Mono<EmployeeStats> getStatistics(int top) {
+        return Mono.fromSupplier(() -> statistics.snapshot(top));
+    }
+
+    // every field is written; empty when there is no such employee
+    public Mono<EmployeeView> updateEmployee(long id, Employee employee, Long expectedVersion) {
+        return written(id, employeeRepository.update(id, employee, expectedVersion), employee.getEmail(), expectedVersion)
+                .flatMap(updated -> employeeRepository.findById(id))
+                .doOnNext(this::indexed);
+    }
+
+    // only the non-null fields are written; false when there is no such employee
+    public Mono<Boolean> patchEmployee(long id, Employee changes, Long expectedVersion) {
+        return written(id, employeeRepository.updatePartially(id, changes, expectedVersion), changes.getEmail(), expectedVersion)
+                .flatMap(updated -> employeeRepository.findById(id))
+                .doOnNext(this::indexed)
+                .hasElement();
+    }
+
+    public Mono<Long> deleteEmployee(long id) {
+        return employeeRepository.deleteById(id)
+                .doOnNext(deleted -> removed(id));
+    }
+
+    public Mono<Long> deleteEmployees(Collection<Long> ids) {
+        Set<Long> distinctIds = new HashSet<>(ids);
+        return employeeRepository.deleteAllById(distinctIds)
+                .doOnNext(deleted -> distinctIds.forEach(this::removed));
+    }
+
+    public Mono<Long> deleteEmployeesByEmailDomain(String domain) {
+        return employeeRepository.findIdsByEmailDomain(domain)
+                .collectList()
+                .flatMap(this::deleteEmployees);
+    }
+
+    // the result of a versioned UPDATE: empty when nothing was written because the employee does not exist,
+    // an optimistic locking failure when it exists but has moved past the expected version
+    private Mono<Long> written(long id, Mono<Long> update, String email, Long expectedVersion) {
+        return update
+                .onErrorMap(DataIntegrityViolationException.class, e -> isEmailConflict(e) ? emailConflict(email, e) : e)
+                .flatMap(updated -> {
+                    if (updated > 0) {
+                        return Mono.just(updated);
+                    }
+                    if (expectedVersion == null) {
+                        return Mono.empty();
+                    }
+                    return employeeRepository.existsById(id).flatMap(exists -> exists
+                            ? Mono.error(new ObjectOptimisticLockingFailureException(Employee.class, id))
+                            : Mono.empty());
+                });
+    }
+
+    private void indexed(EmployeeView employee) {
+        emailFilter.put(employee.email());
+        statistics.update(nameIndex.put(employee), employee);
+    }
+
+    private void removed(long id) {
+        statistics.update(nameIndex.remove(id), null);
+    }
+
+    private static ResourceNotFoundException emailConflict(String email, Throwable cause) {
+        return new ResourceNotFoundException("Employee already exists with given email: " + email, cause);
+    }
+
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(Employee.EMAIL_INDEX);
+    }
+
+}
@@ -0,0 +1,16 @@
+-- employees table as Hibernate generates it from the Employee entity, for the reactive profile and the local
+-- replicas of the replicas profile
+create sequence if not exists employees_seq start with 1 increment by 50;
+
+create table if not exists employees (
+    id bigint not null,
+    email varchar(255),
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    version bigint,
+    primary key (id)
+);
+
+create unique index if not exists ux_employees_email on employees (email);
+create index if not exists ix_employees_first_last on employees (first_name, last_name);
+create index if not exists ix_employees_last_first on employees (last_name, first_name);
@@ -0,0 +1,112 @@
+package com.project.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.fail;
+
+// One launch of the application as a separate process on a free port, for the benchmarks that measure it from
+// the outside: time to the first served request and resident memory. Output goes to the given log file.
+final class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private final int port = freePort();
+
+    private final Path log;
+
+    private final long started;
+
+    private final Process process;
+
+    ApplicationProcess(List<String> command, Path log) throws IOException {
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        this.log = log;
+        this.started = System.nanoTime();
+        this.process = new ProcessBuilder(arguments).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    }
+
+    // Polls POST /api/employees until the application accepts it, then fetches the new employee. Returns the
+    // employee id and the milliseconds from launch to the first successful GET /api/employees/{id}.
+    FirstEmployee awaitFirstEmployee() throws Exception {
+        Long id = null;
+        while (System.nanoTime() - started < TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                fail("exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (id == null) {
+                    HttpResponse<String> created = send(request("/api/employees")
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"johndoe@mail.com\"}")));
+                    if (created.statusCode() == 201) {
+                        id = objectMapper.readTree(created.body()).get("id").asLong();
+                    }
+                }
+                if (id != null && send(request("/api/employees/" + id)).statusCode() == 200) {
+                    return new FirstEmployee(id, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                }
+            } catch (ConnectException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        return fail("no successful GET within " + TIMEOUT + ", see " + log);
+    }
+
+    HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+    }
+
+    HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // peak resident set size so far in kilobytes (VmHWM, so Linux only)
+    long peakRssKilobytes() throws IOException {
+        return Files.readAllLines(Path.of("/proc", Long.toString(process.pid()), "status")).stream()
+                .filter(line -> line.startsWith("VmHWM:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    // SIGTERM, so the JVM shuts down normally; that is when a CDS training run writes its archive
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(1, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record FirstEmployee(long id, long millis) {
+    }
+
+}
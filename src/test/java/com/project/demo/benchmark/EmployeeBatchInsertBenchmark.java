@@ -0,0 +1,75 @@
+package com.project.demo.benchmark;
+
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import com.project.demo.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compares rows/sec of the single-row create path against POST /api/employees/batch.
+// Not part of the regular test run (surefire only picks up *Test/*Tests classes), run it with:
+//   mvn test -Dtest=EmployeeBatchInsertBenchmark -Dbenchmark.rows=10000
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+public class EmployeeBatchInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5000);
+
+    private static final int WARMUP_ROWS = 500;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp(){
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void singleRowVersusBatchInsert(){
+        insertOneByOne(employees("warmup-single", WARMUP_ROWS));
+        employeeService.saveEmployees(employees("warmup-batch", WARMUP_ROWS));
+        employeeRepository.deleteAllInBatch();
+
+        long singleNanos = insertOneByOne(employees("single", ROWS));
+
+        long start = System.nanoTime();
+        employeeService.saveEmployees(employees("batch", ROWS));
+        long batchNanos = System.nanoTime() - start;
+
+        System.out.printf("single-row insert: %,.0f rows/sec%n", ROWS / (singleNanos / 1e9));
+        System.out.printf("batch insert:      %,.0f rows/sec%n", ROWS / (batchNanos / 1e9));
+
+        assertThat(employeeRepository.count()).isEqualTo(2L * ROWS);
+    }
+
+    private long insertOneByOne(List<Employee> employees){
+        long start = System.nanoTime();
+        for (Employee employee : employees) {
+            employeeService.saveEmployee(employee);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static List<Employee> employees(String prefix, int count){
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder()
+                    .firstName("John" + i)
+                    .lastName("Doe")
+                    .email(prefix + i + "@mail.com")
+                    .build());
+        }
+        return employees;
+    }
+
+}
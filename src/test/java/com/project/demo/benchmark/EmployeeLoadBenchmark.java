@@ -0,0 +1,362 @@
+package com.project.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.demo.model.Employee;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+// Open-loop load test of /api/employees: requests go out at a fixed target rate, whatever the response times,
+// in a weighted mix of create / get / list / update / delete. Latency is measured from the moment a request was
+// due rather than when it was actually sent, so a stalled server shows up in the percentiles instead of
+// quietly lowering the offered load, and recorded per operation in HdrHistograms.
+//
+// The report (throughput, p50 / p99 / p99.9 / max per operation) is printed and written to
+// target/loadtest-result.json, then compared with the baseline src/test/resources/loadtest-baseline.json: any
+// percentile more than loadtest.max-regression-percent (and loadtest.min-regression-ms) above its baseline, or a
+// throughput that far below it, fails the test. So does a missing baseline, or one recorded with a different rate
+// or mix, since the gate could not check anything; -Dloadtest.require-baseline=false turns those into a skip, for
+// a run that is only meant to report. Run it with the loadtest profile, which fails the build on a regression:
+//   mvn -Ploadtest test [-Dloadtest.rate=100 -Dloadtest.seconds=30 -Dloadtest.mix=create:10,get:60,list:10,update:15,delete:5]
+// No baseline is checked in: numbers from a developer machine or a shared CI runner say nothing about another
+// one. Record one on the machine the gate runs on with -Dloadtest.update-baseline=true, and set the tolerance from
+// the spread of a few repeated runs there.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"logging.level.root=WARN", "spring.main.banner-mode=off"})
+public class EmployeeLoadBenchmark {
+
+    private static final int RATE = Integer.getInteger("loadtest.rate", 100);
+
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 30);
+
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+
+    private static final int EMPLOYEES = Integer.getInteger("loadtest.employees", 1000);
+
+    private static final String MIX = System.getProperty("loadtest.mix", "create:10,get:60,list:10,update:15,delete:5");
+
+    private static final double MAX_REGRESSION_PERCENT = Double.parseDouble(System.getProperty("loadtest.max-regression-percent", "20"));
+
+    // regressions smaller than this are scheduling noise, whatever the percentage
+    private static final double MIN_REGRESSION_MS = Double.parseDouble(System.getProperty("loadtest.min-regression-ms", "2"));
+
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("loadtest.update-baseline");
+
+    private static final boolean REQUIRE_BASELINE = Boolean.parseBoolean(System.getProperty("loadtest.require-baseline", "true"));
+
+    private static final File BASELINE = new File("src/test/resources/loadtest-baseline.json");
+
+    private static final File RESULT = new File("target/loadtest-result.json");
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final AtomicLong emails = new AtomicLong();
+
+    private final IdPool ids = new IdPool();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    public void employeeApiUnderLoad() throws Exception {
+        Map<String, Integer> mix = parseMix(MIX);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+        try {
+            seed(client);
+            run(client, mix, WARMUP_SECONDS);
+            Map<String, Stats> stats = run(client, mix, SECONDS);
+
+            Report report = new Report(RATE, MIX, SECONDS, stats.values().stream()
+                    .map(operation -> operation.summarize(SECONDS))
+                    .toList());
+            print(report);
+            RESULT.getParentFile().mkdirs();
+            objectMapper.writeValue(RESULT, report);
+
+            assertThat(report.operations()).allSatisfy(operation -> assertThat(operation.errors()).isZero());
+            if (UPDATE_BASELINE) {
+                BASELINE.getParentFile().mkdirs();
+                objectMapper.writeValue(BASELINE, report);
+                System.out.println("baseline written to " + BASELINE);
+                return;
+            }
+            compareWithBaseline(report);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void seed(HttpClient client) throws Exception {
+        for (int from = 0; from < EMPLOYEES; from += 500) {
+            List<Employee> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + 500, EMPLOYEES); i++) {
+                batch.add(newEmployee());
+            }
+            HttpResponse<byte[]> response = client.send(request("/api/employees/batch")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(batch)))
+                    .build(), HttpResponse.BodyHandlers.ofByteArray());
+            assertThat(response.statusCode()).isEqualTo(201);
+            for (Employee employee : objectMapper.readValue(response.body(), Employee[].class)) {
+                ids.add(employee.getId());
+            }
+        }
+    }
+
+    // one request every 1/RATE seconds for the given time, then waits for the stragglers
+    private Map<String, Stats> run(HttpClient client, Map<String, Integer> mix, int seconds) {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        mix.keySet().forEach(operation -> stats.put(operation, new Stats(operation)));
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long interval = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long requests = (long) RATE * seconds;
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long due = start + i * interval;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Stats operation = stats.get(pick(mix, totalWeight));
+            inFlight.add(send(client, operation.name)
+                    .handle((status, failure) -> {
+                        operation.record(System.nanoTime() - due, failure == null && ok(operation.name, status));
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).orTimeout(1, TimeUnit.MINUTES).join();
+        return stats;
+    }
+
+    private CompletableFuture<Integer> send(HttpClient client, String operation) {
+        HttpRequest request;
+        switch (operation) {
+            case "create" -> request = request("/api/employees")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json(newEmployee())))
+                    .build();
+            case "get" -> request = request("/api/employees/" + ids.random()).GET().build();
+            case "list" -> request = request("/api/employees?limit=50&after=" + ids.random()).GET().build();
+            case "update" -> request = request("/api/employees/" + ids.random())
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"lastName\":\"Load" + emails.incrementAndGet() + "\"}"))
+                    .build();
+            case "delete" -> request = request("/api/employees/" + ids.removeRandom()).DELETE().build();
+            default -> throw new IllegalArgumentException("unknown operation in loadtest.mix: " + operation);
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if ("create".equals(operation) && response.statusCode() == 201) {
+                        ids.add(readId(response.body()));
+                    }
+                    return response.statusCode();
+                });
+    }
+
+    // a get or update can race with the delete of the same employee, so 404 is an expected answer there
+    private static boolean ok(String operation, int status) {
+        return status / 100 == 2 || status == 404 && ("get".equals(operation) || "update".equals(operation));
+    }
+
+    private void compareWithBaseline(Report report) throws IOException {
+        if (!BASELINE.exists()) {
+            noComparableBaseline("no baseline at " + BASELINE + ", record one on the reference machine with "
+                    + "-Dloadtest.update-baseline=true");
+            return;
+        }
+        Report baseline = objectMapper.readValue(BASELINE, Report.class);
+        if (baseline.rate() != report.rate() || !baseline.mix().equals(report.mix())) {
+            noComparableBaseline("baseline was recorded at " + baseline.rate() + " req/s with mix " + baseline.mix()
+                    + ", this run is " + report.rate() + " req/s with mix " + report.mix());
+            return;
+        }
+
+        double factor = 1 + MAX_REGRESSION_PERCENT / 100;
+        List<String> regressions = new ArrayList<>();
+        for (OperationResult before : baseline.operations()) {
+            OperationResult after = report.operations().stream()
+                    .filter(operation -> operation.operation().equals(before.operation()))
+                    .findFirst().orElse(null);
+            if (after == null) {
+                continue;
+            }
+            checkLatency(regressions, before.operation(), "p50", before.p50Ms(), after.p50Ms(), factor);
+            checkLatency(regressions, before.operation(), "p99", before.p99Ms(), after.p99Ms(), factor);
+            checkLatency(regressions, before.operation(), "p99.9", before.p999Ms(), after.p999Ms(), factor);
+            if (after.throughput() < before.throughput() / factor) {
+                regressions.add(String.format("%s throughput %.1f req/s, baseline %.1f req/s", before.operation(),
+                        after.throughput(), before.throughput()));
+            }
+        }
+        assertThat(regressions)
+                .as("regressions of more than %.0f%% against %s", MAX_REGRESSION_PERCENT, BASELINE)
+                .isEmpty();
+    }
+
+    private static void noComparableBaseline(String reason) {
+        if (REQUIRE_BASELINE) {
+            fail(reason + " (-Dloadtest.require-baseline=false to only report)");
+        }
+        Assumptions.abort(reason + ", results only reported");
+    }
+
+    private static void checkLatency(List<String> regressions, String operation, String percentile,
+                                     double baselineMs, double measuredMs, double factor) {
+        if (measuredMs > baselineMs * factor && measuredMs - baselineMs > MIN_REGRESSION_MS) {
+            regressions.add(String.format("%s %s %.2f ms, baseline %.2f ms", operation, percentile, measuredMs, baselineMs));
+        }
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%d req/s for %d s, mix %s%n", report.rate(), report.seconds(), report.mix());
+        System.out.printf("%-8s %8s %7s %10s %9s %9s %9s %9s%n", "op", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (OperationResult operation : report.operations()) {
+            System.out.printf("%-8s %,8d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", operation.operation(), operation.count(),
+                    operation.errors(), operation.throughput(), operation.p50Ms(), operation.p99Ms(), operation.p999Ms(),
+                    operation.maxMs());
+        }
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+
+    private static String pick(Map<String, Integer> mix, int totalWeight) {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private Employee newEmployee() {
+        long n = emails.incrementAndGet();
+        return Employee.builder().firstName("Load" + n).lastName("Test").email("load" + n + "@loadtest.com").build();
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long readId(byte[] body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Stats {
+
+        private final String name;
+
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+
+        private final AtomicLong errors = new AtomicLong();
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos, boolean ok) {
+            if (ok) {
+                latencies.recordValue(Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+            } else {
+                errors.incrementAndGet();
+            }
+        }
+
+        OperationResult summarize(int seconds) {
+            return new OperationResult(name, latencies.getTotalCount(), errors.get(),
+                    (double) latencies.getTotalCount() / seconds,
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+
+    }
+
+    // ids of live employees to pick targets from; a deleted id is taken out before its DELETE goes out
+    private static final class IdPool {
+
+        private final List<Long> ids = new ArrayList<>();
+
+        synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        synchronized long random() {
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        synchronized long removeRandom() {
+            int index = ThreadLocalRandom.current().nextInt(ids.size());
+            long id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+
+    }
+
+    record Report(int rate, String mix, int seconds, List<OperationResult> operations) {
+    }
+
+    record OperationResult(String operation, long count, long errors, double throughput,
+                           double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+
+}
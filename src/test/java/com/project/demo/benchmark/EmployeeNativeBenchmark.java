@@ -0,0 +1,89 @@
+package com.project.demo.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Native executable against the JVM build of the same sources, launched alternately as separate processes:
+// the time to the first successful GET /api/employees/{id}, and the peak resident memory once a round of smoke
+// requests (list, stats, update, delete) has been served. Needs the output of the native profile and runs in its
+// integration-test phase:
+//   mvn -Pnative verify [-Dnative.runs=5]
+public class EmployeeNativeBenchmark {
+
+    private static final int RUNS = Integer.getInteger("native.runs", 5);
+
+    private static final Path TARGET = Path.of("target");
+
+    private static final String JAVA = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+    @Test
+    public void startupAndMemory() throws Exception {
+        Path executable = TARGET.resolve("demo");
+        assertThat(executable).as("the native executable, built by mvn -Pnative package").isExecutable();
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("jvm", List.of(JAVA, "-jar", fatJar().toString()));
+        variants.put("native", List.of(executable.toString()));
+
+        Map<String, List<Long>> millis = new LinkedHashMap<>();
+        Map<String, List<Long>> rss = new LinkedHashMap<>();
+        variants.keySet().forEach(variant -> {
+            millis.put(variant, new ArrayList<>());
+            rss.put(variant, new ArrayList<>());
+        });
+        for (int run = 0; run < RUNS; run++) {
+            for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                try (ApplicationProcess application = new ApplicationProcess(variant.getValue(), TARGET.resolve("native-launch.log"))) {
+                    ApplicationProcess.FirstEmployee first = application.awaitFirstEmployee();
+                    smoke(application, first.id());
+                    millis.get(variant.getKey()).add(first.millis());
+                    rss.get(variant.getKey()).add(application.peakRssKilobytes() / 1024);
+                }
+            }
+        }
+
+        System.out.printf("time to first GET /api/employees/{id} and peak RSS after the smoke requests, %d runs%n", RUNS);
+        variants.keySet().forEach(variant -> System.out.printf("%-6s startup median %,7d ms, min %,7d ms; rss median %,5d MB%n",
+                variant, median(millis.get(variant)), millis.get(variant).stream().mapToLong(Long::longValue).min().orElseThrow(),
+                median(rss.get(variant))));
+        assertThat(median(millis.get("native"))).isLessThan(median(millis.get("jvm")));
+        assertThat(median(rss.get("native"))).isLessThan(median(rss.get("jvm")));
+    }
+
+    // the round trips of EmployeeControllerITest that do not depend on test fixtures, each expected to succeed
+    private static void smoke(ApplicationProcess application, long id) throws Exception {
+        assertThat(application.send(application.request("/api/employees")).statusCode()).isEqualTo(200);
+        assertThat(application.send(application.request("/api/employees/stats")).statusCode()).isEqualTo(200);
+        assertThat(application.send(application.request("/api/employees/lookup?email=johndoe@mail.com")).statusCode()).isEqualTo(200);
+        assertThat(application.send(application.request("/api/employees/" + id)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"janedoe@mail.com\"}")))
+                .statusCode()).isEqualTo(200);
+        assertThat(application.send(application.request("/api/employees/" + id).DELETE()).statusCode()).isEqualTo(200);
+        assertThat(application.send(application.request("/api/employees/" + id)).statusCode()).isEqualTo(404);
+    }
+
+    private static Path fatJar() throws IOException {
+        try (Stream<Path> files = Files.list(TARGET)) {
+            List<Path> jars = files.filter(file -> file.toString().endsWith(".jar")).toList();
+            assertThat(jars).as("the jar in %s", TARGET).hasSize(1);
+            return jars.get(0);
+        }
+    }
+
+    private static long median(List<Long> values) {
+        return values.stream().sorted().toList().get(values.size() / 2);
+    }
+
+}
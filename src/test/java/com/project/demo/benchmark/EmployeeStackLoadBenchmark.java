@@ -0,0 +1,171 @@
+package com.project.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.DemoApplication;
+import com.project.demo.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Closed-loop load test of the servlet stack (Tomcat + JPA + Hikari) against the "reactive" profile (Netty +
+// WebFlux + R2DBC). Each stack is started in turn on a random port, seeded over HTTP, and then hit by the
+// given numbers of concurrent connections, each sending GET /api/employees/{id} for a random id as soon as
+// its previous response arrives. The servlet stack runs with the "nocache" profile, so both stacks go to
+// the database on every request. Not part of the regular test run, run it with:
+//   mvn test -Dtest=EmployeeStackLoadBenchmark -Dloadtest.connections=1000,10000 -Dloadtest.seconds=30
+// Client and server share the process, so every connection costs two file descriptors (raise ulimit -n well
+// above twice the largest connection count), and they compete for the same cores: run it on a machine with
+// cores to spare for the client before comparing the numbers.
+public class EmployeeStackLoadBenchmark {
+
+    private static final int[] CONNECTIONS = Arrays.stream(System.getProperty("loadtest.connections", "1000,10000").split(","))
+            .mapToInt(Integer::parseInt).toArray();
+
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 30);
+
+    private static final int EMPLOYEES = Integer.getInteger("loadtest.employees", 10000);
+
+    private static final int SEED_BATCH = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void servletVersusReactive() throws Exception {
+        for (int connections : CONNECTIONS) {
+            for (String profile : List.of("nocache", "reactive")) {
+                try (ConfigurableApplicationContext context = start(profile)) {
+                    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                    ExecutorService executor = Executors.newFixedThreadPool(4);
+                    HttpClient client = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_1_1)
+                            .connectTimeout(Duration.ofSeconds(30))
+                            .executor(executor)
+                            .build();
+                    try {
+                        long[] ids = seed(client, port);
+                        run(client, port, ids, Math.min(connections, 100), 5);
+                        Result result = run(client, port, ids, connections, SECONDS);
+                        System.out.printf("%-8s %,6d connections: %,9.0f req/s, p50 %,7.1f ms, p99 %,8.1f ms, max %,8.1f ms, %,d errors%n",
+                                "reactive".equals(profile) ? "reactive" : "servlet", connections,
+                                result.throughput(), result.percentile(50), result.percentile(99), result.percentile(100),
+                                result.errors());
+                        assertThat(result.completed()).isPositive();
+                    } finally {
+                        executor.shutdownNow();
+                    }
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String profile) {
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .profiles(profile)
+                .properties("server.port=0",
+                        "logging.level.root=WARN",
+                        "spring.main.banner-mode=off",
+                        // enough room in the accept queue for every client to connect at once
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=20000")
+                .run();
+    }
+
+    private long[] seed(HttpClient client, int port) throws Exception {
+        List<Long> ids = new ArrayList<>(EMPLOYEES);
+        for (int from = 0; from < EMPLOYEES; from += SEED_BATCH) {
+            List<Employee> batch = new ArrayList<>(SEED_BATCH);
+            for (int i = from; i < Math.min(from + SEED_BATCH, EMPLOYEES); i++) {
+                batch.add(Employee.builder().firstName("John" + i).lastName("Doe").email("johndoe" + i + "@mail.com").build());
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(batch)))
+                    .build();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            assertThat(response.statusCode()).isEqualTo(201);
+            for (Employee employee : objectMapper.readValue(response.body(), Employee[].class)) {
+                ids.add(employee.getId());
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Result run(HttpClient client, int port, long[] ids, int connections, int seconds) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Long> latencies = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        List<CompletableFuture<Void>> clients = new ArrayList<>(connections);
+        long start = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            clients.add(loop(client, port, ids, deadline, latencies, errors));
+        }
+        CompletableFuture.allOf(clients.toArray(CompletableFuture[]::new)).join();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        synchronized (latencies) {
+            return new Result(latencies.stream().mapToLong(Long::longValue).sorted().toArray(), errors.get(), elapsedSeconds);
+        }
+    }
+
+    // one virtual client: the next request goes out when the previous response is in, until the deadline
+    private static CompletableFuture<Void> loop(HttpClient client, int port, long[] ids, long deadline,
+                                                List<Long> latencies, AtomicLong errors) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees/" + id))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    if (failure != null || response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    } else {
+                        synchronized (latencies) {
+                            latencies.add(System.nanoTime() - sent);
+                        }
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(client, port, ids, deadline, latencies, errors));
+    }
+
+    private record Result(long[] sortedLatencies, long errors, double elapsedSeconds) {
+
+        long completed() {
+            return sortedLatencies.length;
+        }
+
+        double throughput() {
+            return completed() / elapsedSeconds;
+        }
+
+        double percentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.project.demo.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Cold start as an autoscaler sees it: the time from launching the JVM to the first successful
+// GET /api/employees/{id}. Every launch is a fresh process on a free port, polled with POST /api/employees until
+// it accepts one, after which the new employee is fetched. Compared are
+//   - the plain fat jar, as deployed today,
+//   - the startup build: Spring AOT and the "startup" profile (lazy initialization off the hot path), run from
+//     the thin jar and its dependencies,
+//   - the same with the AppCDS archive, recorded first in a training run that serves one request and is then
+//     stopped, dumping the loaded classes into target/startup/app.jsa on exit.
+// Needs the packaged output of the startup profile and runs in its integration-test phase:
+//   mvn -Pstartup verify [-Dstartup.runs=5]
+public class EmployeeStartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+
+    private static final Path TARGET = Path.of("target");
+
+    private static final Path STARTUP = TARGET.resolve("startup");
+
+    private static final Path ARCHIVE = STARTUP.resolve("app.jsa");
+
+    private static final String JAVA = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+    @Test
+    public void timeToFirstRequest() throws Exception {
+        Path fatJar = onlyJar(TARGET);
+        Path thinJar = onlyJar(STARTUP);
+        List<String> optimized = List.of(JAVA, "-Dspring.aot.enabled=true", "-Dspring.profiles.active=startup",
+                "-cp", thinJar + File.pathSeparator + STARTUP.resolve("lib") + File.separator + "*",
+                "com.project.demo.DemoApplication");
+
+        Files.deleteIfExists(ARCHIVE);
+        launch(with(optimized, "-XX:ArchiveClassesAtExit=" + ARCHIVE));
+        assertThat(ARCHIVE).exists();
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("fat jar", List.of(JAVA, "-jar", fatJar.toString()));
+        variants.put("aot + lazy", optimized);
+        variants.put("aot + lazy + cds", with(optimized, "-XX:SharedArchiveFile=" + ARCHIVE));
+
+        Map<String, List<Long>> millis = new LinkedHashMap<>();
+        variants.keySet().forEach(variant -> millis.put(variant, new ArrayList<>()));
+        // interleaved, so a noisy stretch on the machine does not land on a single variant
+        for (int run = 0; run < RUNS; run++) {
+            for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                millis.get(variant.getKey()).add(launch(variant.getValue()));
+            }
+        }
+
+        System.out.printf("time to first GET /api/employees/{id}, %d runs%n", RUNS);
+        millis.forEach((variant, runs) -> System.out.printf("%-18s median %,7d ms, min %,7d ms%n", variant,
+                median(runs), runs.stream().mapToLong(Long::longValue).min().orElseThrow()));
+        assertThat(median(millis.get("aot + lazy + cds"))).isLessThan(median(millis.get("fat jar")));
+    }
+
+    // milliseconds from process start to the first successful GET /api/employees/{id}
+    private static long launch(List<String> command) throws Exception {
+        try (ApplicationProcess application = new ApplicationProcess(command, STARTUP.resolve("launch.log"))) {
+            return application.awaitFirstEmployee().millis();
+        }
+    }
+
+    // the JVM option goes before the main class or jar, which always come last in the launch commands here
+    private static List<String> with(List<String> command, String jvmOption) {
+        List<String> result = new ArrayList<>(command);
+        result.add(1, jvmOption);
+        return result;
+    }
+
+    private static Path onlyJar(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> jars = files.filter(file -> file.toString().endsWith(".jar")).toList();
+            assertThat(jars).as("the jar in %s, built by mvn -Pstartup package", directory).hasSize(1);
+            return jars.get(0);
+        }
+    }
+
+    private static long median(List<Long> values) {
+        return values.stream().sorted().toList().get(values.size() / 2);
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.project.demo.config;
+
+import com.project.demo.dto.EmployeeView;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NativeImageConfigTest {
+
+    // JUnit test for the native image hints
+    @Test
+    public void givenHintsRegistrar_whenRegisterHints_thenReflectionAndResourcesCovered() throws Exception {
+
+        // given - precondition or setup
+        RuntimeHints hints = new RuntimeHints();
+
+        // when - action or the behaviour that we are going to test
+        new NativeImageConfig.EmployeeHints().registerHints(hints, getClass().getClassLoader());
+
+        // then - verify the output
+        assertThat(RuntimeHintsPredicates.reflection().onConstructor(EmployeeView.class.getDeclaredConstructor(
+                Long.class, String.class, String.class, String.class, Long.class))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(
+                Class.forName("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(
+                Class.forName("org.hibernate.cache.jcache.internal.JCacheRegionFactory"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("application.conf")).accepts(hints);
+
+    }
+
+}
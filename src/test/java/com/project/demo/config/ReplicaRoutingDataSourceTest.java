@@ -0,0 +1,94 @@
+package com.project.demo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica0;
+
+    @Mock
+    private DataSource replica1;
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp(){
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica0);
+        replicas.put("replica-1", replica1);
+        routing = new ReplicaRoutingDataSource(primary, replicas);
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown(){
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    // JUnit test for routing of writes
+    @Test
+    public void givenReadWriteTransaction_whenLookupKey_thenPrimary(){
+
+        // given - precondition or setup
+        routing.setHealthyReplicas(List.of("replica-0", "replica-1"));
+
+        // when - action or the behaviour that we are going to test
+        Object key = routing.determineCurrentLookupKey();
+
+        // then - verify the output
+        assertThat(key).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+    }
+
+    // JUnit test for round-robin routing of reads
+    @Test
+    public void givenReadOnlyTransaction_whenLookupKey_thenHealthyReplicasInTurn(){
+
+        // given - precondition or setup
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        routing.setHealthyReplicas(List.of("replica-0", "replica-1"));
+
+        // when - action or the behaviour that we are going to test
+        List<Object> keys = List.of(routing.determineCurrentLookupKey(), routing.determineCurrentLookupKey(),
+                routing.determineCurrentLookupKey());
+
+        // then - verify the output
+        assertThat(keys).containsExactly("replica-0", "replica-1", "replica-0");
+
+    }
+
+    // JUnit test for fallback of reads to the primary
+    @Test
+    public void givenNoHealthyReplica_whenReadOnlyLookupKey_thenPrimary(){
+
+        // given - precondition or setup
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        routing.setHealthyReplicas(List.of());
+
+        // when - action or the behaviour that we are going to test
+        Object key = routing.determineCurrentLookupKey();
+
+        // then - verify the output
+        assertThat(key).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.project.demo.controller;
+
+import com.project.demo.config.AdmissionControlProperties;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class AdmissionControlFilterTest {
+
+    @Mock
+    private HikariPoolMXBean pool;
+
+    private MeterRegistry meterRegistry;
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    public void setup(){
+        meterRegistry = new SimpleMeterRegistry();
+        AdmissionControlProperties properties = new AdmissionControlProperties(true, 10, Duration.ofMillis(100),
+                Duration.ZERO, Duration.ofSeconds(2));
+        filter = new AdmissionControlFilter(properties, () -> pool, meterRegistry);
+    }
+
+    // JUnit test for a request admitted while the pool keeps up
+    @Test
+    public void givenIdlePool_whenRequest_thenPassedOn() throws Exception {
+
+        // given - precondition or setup
+        given(pool.getThreadsAwaitingConnection()).willReturn(0);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when - action or the behaviour that we are going to test
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/1"), response, chain);
+
+        // then - verify the output
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+
+    }
+
+    // JUnit test for a request shed on the pending-acquire queue
+    @Test
+    public void givenFullAcquireQueue_whenRequest_thenServiceUnavailable() throws Exception {
+
+        // given - precondition or setup
+        given(pool.getThreadsAwaitingConnection()).willReturn(10);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when - action or the behaviour that we are going to test
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/1"), response, chain);
+
+        // then - verify the output
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(meterRegistry.counter(AdmissionControlFilter.REJECTED_COUNTER, "reason", "pending").count()).isEqualTo(1);
+
+    }
+
+    // JUnit test for a request shed on the measured acquire wait
+    @Test
+    public void givenSlowAcquires_whenRequest_thenShedOnlyWhileThreadsQueued() throws Exception {
+
+        // given - precondition or setup
+        meterRegistry.timer(AdmissionControlFilter.ACQUIRE_TIMER).record(Duration.ofMillis(300));
+        given(pool.getThreadsAwaitingConnection()).willReturn(2, 0);
+
+        // when - action or the behaviour that we are going to test
+        String queued = filter.rejection();
+        String drained = filter.rejection();
+
+        // then - verify the output
+        assertThat(queued).isEqualTo("wait");
+        assertThat(drained).isNull();
+
+    }
+
+}
@@ -1,27 +1,42 @@
 package com.project.demo.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.project.demo.dto.EmployeeStats;
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.dto.ImportResult;
 import com.project.demo.model.Employee;
+import com.project.demo.service.EmployeeImportService;
 import com.project.demo.service.EmployeeService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 
 @WebMvcTest
@@ -33,6 +48,9 @@ public class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeImportService employeeImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -66,16 +84,71 @@ public class EmployeeControllerTest {
 
     }
 
-    // JUnit test for getAllEmployees REST API
+    // JUnit test for createEmployee REST API with write-behind
     @Test
-    public void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
+    public void givenWriteBehind_whenCreateEmployee_thenReturnAcceptedWithLocation() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build();
+
+        given(employeeService.saveEmployeeBehind(any(Employee.class)))
+                .willReturn(Optional.of(Employee.builder().id(7L).firstName("John").lastName("Doe")
+                        .email("johndoe@mail.com").version(0L).build()));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/employees/7"))
+                .andExpect(jsonPath("$.id", is(7)))
+                .andExpect(jsonPath("$.email", is(employee.getEmail())));
+        verify(employeeService, never()).saveEmployee(any(Employee.class));
+
+    }
+
+    // JUnit test for createEmployees REST API
+    @Test
+    public void givenListOfEmployees_whenCreateEmployees_thenReturnSavedEmployees() throws Exception {
 
         // given - precondition or setup
         List<Employee> listOfEmployees = new ArrayList<>();
         listOfEmployees.add(Employee.builder().firstName("John").lastName("Doe").email("johndoe@mail.com").build());
         listOfEmployees.add(Employee.builder().firstName("Jane").lastName("Doe").email("janedoe@mail.com").build());
 
-        given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
+        given(employeeService.saveEmployees(anyList()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(listOfEmployees)));
+
+        // then - verify the output
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[1].email", is("janedoe@mail.com")));
+
+    }
+
+    // JUnit test for getAllEmployees REST API
+    @Test
+    public void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
+
+        // given - precondition or setup
+        List<EmployeeView> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(new EmployeeView(1L, "John", "Doe", "johndoe@mail.com", 0L));
+        listOfEmployees.add(new EmployeeView(2L, "Jane", "Doe", "janedoe@mail.com", 0L));
+
+        given(employeeService.getAllEmployeeViews()).willReturn(listOfEmployees);
 
         // when - action or the behaviour that we are going to test
         ResultActions response = mvc.perform(get("/api/employees"));
@@ -87,6 +160,284 @@ public class EmployeeControllerTest {
 
     }
 
+    // JUnit test for getAllEmployees REST API negotiated as CBOR
+    @Test
+    public void givenCborAccept_whenGetAllEmployees_thenReturnCborEncodedList() throws Exception {
+
+        // given - precondition or setup
+        List<EmployeeView> listOfEmployees = List.of(
+                new EmployeeView(1L, "John", "Doe", "johndoe@mail.com", 0L),
+                new EmployeeView(2L, "Jane", "Doe", "janedoe@mail.com", 0L));
+
+        given(employeeService.getAllEmployeeViews()).willReturn(listOfEmployees);
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mvc.perform(get("/api/employees").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/cbor"))
+                .andReturn();
+
+        // then - verify the output
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertThat(new CBORMapper().readValue(body, EmployeeView[].class)).containsExactlyElementsOf(listOfEmployees);
+        assertThat(body.length).isLessThan(objectMapper.writeValueAsBytes(listOfEmployees).length);
+
+    }
+
+    // JUnit test for createEmployees REST API with a Smile request body
+    @Test
+    public void givenSmileBody_whenCreateEmployees_thenReturnSmileEncodedEmployees() throws Exception {
+
+        // given - precondition or setup
+        SmileMapper smileMapper = new SmileMapper();
+        List<Employee> employees = List.of(Employee.builder().firstName("John").lastName("Doe").email("johndoe@mail.com").build());
+        given(employeeService.saveEmployees(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mvc.perform(post("/api/employees/batch")
+                        .contentType("application/x-jackson-smile")
+                        .accept("application/x-jackson-smile")
+                        .content(smileMapper.writeValueAsBytes(employees)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        // then - verify the output
+        Employee[] created = smileMapper.readValue(result.getResponse().getContentAsByteArray(), Employee[].class);
+        assertThat(created).hasSize(1);
+        assertThat(created[0].getEmail()).isEqualTo("johndoe@mail.com");
+
+    }
+
+    // JUnit test for keyset paginated getAllEmployees REST API
+    @Test
+    public void givenAfterAndLimit_whenGetEmployeesPage_thenReturnPageWithNextLink() throws Exception {
+
+        // given - precondition or setup
+        List<EmployeeView> page = new ArrayList<>();
+        page.add(new EmployeeView(3L, "John", "Doe", "johndoe@mail.com", 0L));
+        page.add(new EmployeeView(4L, "Jane", "Doe", "janedoe@mail.com", 0L));
+
+        given(employeeService.getEmployeesAfter(2L, 2)).willReturn(page);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/employees").param("after", "2").param("limit", "2"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(header().string("Link", containsString("after=4")));
+
+    }
+
+    // JUnit test for keyset paginated getAllEmployees REST API - negative scenario
+    @Test
+    public void givenLimitAndStream_whenGetAllEmployees_thenReturn400() throws Exception {
+
+        // given - precondition or setup
+        String limit = "5";
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/employees").param("limit", limit).param("stream", "true"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(employeeService, never()).streamAllEmployees(any());
+        verify(employeeService, never()).getEmployeesAfter(anyLong(), anyInt());
+
+    }
+
+    // JUnit test for streaming getAllEmployees REST API
+    @Test
+    public void givenListOfEmployees_whenStreamAllEmployees_thenReturnEmployeesArray() throws Exception {
+
+        // given - precondition or setup
+        willAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            action.accept(Employee.builder().id(1L).firstName("John").lastName("Doe").email("johndoe@mail.com").build());
+            action.accept(Employee.builder().id(2L).firstName("Jane").lastName("Doe").email("janedoe@mail.com").build());
+            return null;
+        }).given(employeeService).streamAllEmployees(any());
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mvc.perform(get("/api/employees").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mvc.perform(asyncDispatch(result));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[1].firstName", is("Jane")));
+
+    }
+
+    // JUnit test for NDJSON export REST API
+    @Test
+    public void givenListOfEmployees_whenExportAsNdjson_thenOneDocumentPerLine() throws Exception {
+
+        // given - precondition or setup
+        willAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            action.accept(Employee.builder().id(1L).firstName("John").lastName("Doe").email("johndoe@mail.com").version(0L).build());
+            action.accept(Employee.builder().id(2L).firstName("Jane").lastName("Doe").email("janedoe@mail.com").version(2L).build());
+            return null;
+        }).given(employeeService).streamAllEmployees(any());
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mvc.perform(get("/api/employees/export").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mvc.perform(asyncDispatch(result));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1,\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"johndoe@mail.com\",\"version\":0}\n"
+                        + "{\"id\":2,\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"janedoe@mail.com\",\"version\":2}\n"));
+
+    }
+
+    // JUnit test for CSV export REST API
+    @Test
+    public void givenListOfEmployees_whenExportAsCsv_thenHeaderAndOneRowPerEmployee() throws Exception {
+
+        // given - precondition or setup
+        willAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            action.accept(Employee.builder().id(1L).firstName("John").lastName("Doe").email("johndoe@mail.com").build());
+            return null;
+        }).given(employeeService).streamAllEmployees(any());
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mvc.perform(get("/api/employees/export").accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mvc.perform(asyncDispatch(result));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(content().string("id,firstName,lastName,email\r\n1,John,Doe,johndoe@mail.com\r\n"));
+
+    }
+
+    // JUnit test for NDJSON import REST API
+    @Test
+    public void givenNdjsonBody_whenImportEmployees_thenReturnImportResult() throws Exception {
+
+        // given - precondition or setup
+        List<Employee> imported = new ArrayList<>();
+        given(employeeImportService.importEmployees(any(), eq(2))).willAnswer(invocation -> {
+            invocation.<Iterator<Employee>>getArgument(0).forEachRemaining(imported::add);
+            return new ImportResult(2, 1, List.of(new ImportResult.Chunk(0, 1, 1, 3), new ImportResult.Chunk(1, 1, 0, 2)));
+        });
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(post("/api/employees/import")
+                .param("chunkSize", "2")
+                .contentType("application/x-ndjson")
+                .content("{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"johndoe@mail.com\"}\n"
+                        + "not json\n\n"
+                        + "{\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"janedoe@mail.com\"}\n"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.accepted", is(2)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.chunks.size()", is(2)));
+        assertThat(imported).hasSize(3);
+        assertThat(imported.get(1)).isNull();
+
+    }
+
+    // JUnit test for getEmployeeByEmail REST API
+    @Test
+    public void givenEmail_whenLookupEmployee_thenReturnEmployeeView() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.getEmployeeByEmail("johndoe@mail.com"))
+                .willReturn(Optional.of(new EmployeeView(1L, "John", "Doe", "johndoe@mail.com", 0L)));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/employees/lookup").param("email", "johndoe@mail.com"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.firstName", is("John")));
+        mvc.perform(get("/api/employees/lookup").param("email", "janedoe@mail.com"))
+                .andExpect(status().isNotFound());
+
+    }
+
+    // JUnit test for getEmployeesByName REST API
+    @Test
+    public void givenName_whenLookupEmployees_thenReturnEmployeeViews() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.getEmployeesByName("John", "Doe"))
+                .willReturn(List.of(new EmployeeView(1L, "John", "Doe", "johndoe@mail.com", 0L)));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/employees/lookup").param("firstName", "John").param("lastName", "Doe"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].email", is("johndoe@mail.com")));
+
+    }
+
+    // JUnit test for searchEmployees REST API
+    @Test
+    public void givenPrefix_whenSearchEmployees_thenReturnMatches() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.searchEmployees("jo", 10))
+                .willReturn(List.of(new EmployeeView(1L, "John", "Doe", "johndoe@mail.com", 0L)));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/employees/search").param("prefix", "jo"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].firstName", is("John")));
+        mvc.perform(get("/api/employees/search").param("prefix", " "))
+                .andExpect(status().isBadRequest());
+
+    }
+
+    // JUnit test for getStatistics REST API
+    @Test
+    public void givenCounters_whenGetStatistics_thenReturnStats() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.getStatistics(3))
+                .willReturn(new EmployeeStats(2, Map.of("mail.com", 2L), Map.of("John", 1L, "Jane", 1L), Map.of("Doe", 2L)));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/employees/stats").param("top", "3"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.emailDomains['mail.com']", is(2)))
+                .andExpect(jsonPath("$.lastNames.Doe", is(2)));
+        mvc.perform(get("/api/employees/stats").param("top", "0"))
+                .andExpect(status().isBadRequest());
+
+    }
+
     // positive - valid employee id
     // JUnit test for getEmployeeById REST API
     @Test
@@ -118,6 +469,56 @@ public class EmployeeControllerTest {
 
     }
 
+    // JUnit test for conditional getEmployeeById REST API
+    @Test
+    public void givenMatchingETag_whenGetEmployeeId_thenNotModified() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId)
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .version(3L)
+                .build();
+
+        given(employeeService.getEmployeeById(employeeId))
+                .willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/employees/{id}", employeeId)
+                .header("If-None-Match", "\"3\""));
+
+        // then - verify the output
+        response.andExpect(status().isNotModified())
+                .andDo(print())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+    }
+
+    // JUnit test for patch employee REST API with a stale If-Match
+    @Test
+    public void givenStaleIfMatch_whenPatchEmployee_thenPreconditionFailed() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeService.patchEmployee(eq(employeeId), argThat(changes -> changes.getVersion() == 2L)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, employeeId));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(patch("/api/employees/{id}", employeeId)
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"Smith\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isPreconditionFailed())
+                .andDo(print());
+
+    }
+
     // negative - valid employee id
     // JUnit test for getEmployeeById REST API
     @Test
@@ -164,7 +565,7 @@ public class EmployeeControllerTest {
                 .email("johnsmith@mail.com")
                 .build();
 
-        given(employeeService.getEmployeeById(employeeId))
+        given(employeeService.getEmployeeForUpdate(employeeId))
                 .willReturn(Optional.of(savedEmployee));
 
         given(employeeService.updateEmployee(any(Employee.class)))
@@ -184,6 +585,87 @@ public class EmployeeControllerTest {
 
     }
 
+    // JUnit test for update employee REST API leaving the stored instance alone
+    @Test
+    public void givenConflictingUpdate_whenUpdateEmployee_thenStoredEmployeeUnchanged() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+
+        Employee savedEmployee = Employee.builder()
+                .id(employeeId)
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .version(3L)
+                .build();
+
+        given(employeeService.getEmployeeForUpdate(employeeId))
+                .willReturn(Optional.of(savedEmployee));
+
+        given(employeeService.updateEmployee(any(Employee.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, employeeId));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(put("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "\"2\"")
+                .content("{\"firstName\":\"John\",\"lastName\":\"Smith\",\"email\":\"johnsmith@mail.com\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isPreconditionFailed());
+        verify(employeeService).updateEmployee(argThat(employee -> employee != savedEmployee
+                && employee.getId() == employeeId && employee.getVersion() == 2L));
+        assertThat(savedEmployee.getLastName()).isEqualTo("Doe");
+        assertThat(savedEmployee.getVersion()).isEqualTo(3L);
+
+    }
+
+    // JUnit test for update employee REST API with write-behind
+    @Test
+    public void givenWriteBehind_whenUpdateEmployee_thenReturnAcceptedWithETag() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+
+        Employee savedEmployee = Employee.builder()
+                .id(employeeId)
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .version(3L)
+                .build();
+
+        Employee updatedEmployee = Employee.builder()
+                .firstName("John")
+                .lastName("Smith")
+                .email("johnsmith@mail.com")
+                .build();
+
+        given(employeeService.getEmployeeForUpdate(employeeId))
+                .willReturn(Optional.of(savedEmployee));
+
+        given(employeeService.updateEmployeeBehind(any(Employee.class)))
+                .willAnswer(invocation -> {
+                    Employee employee = invocation.getArgument(0);
+                    employee.setVersion(employee.getVersion() + 1);
+                    return Optional.of(employee);
+                });
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(put("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        // then - verify the output
+        response.andExpect(status().isAccepted())
+                .andDo(print())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.lastName", is(updatedEmployee.getLastName())));
+        verify(employeeService, never()).updateEmployee(any(Employee.class));
+
+    }
+
     // JUnit test for update employee REST API - negative scenario
     @Test
     public void givenUpdatedEmployee_whenUpdateEmployee_thenReturn404() throws Exception {
@@ -203,7 +685,7 @@ public class EmployeeControllerTest {
                 .email("johnsmith@mail.com")
                 .build();
 
-        given(employeeService.getEmployeeById(employeeId))
+        given(employeeService.getEmployeeForUpdate(employeeId))
                 .willReturn(Optional.empty());
 
         // when - action or the behaviour that we are going to test
@@ -217,13 +699,51 @@ public class EmployeeControllerTest {
 
     }
 
+    // JUnit test for patch employee REST API - positive scenario
+    @Test
+    public void givenEmployeeChanges_whenPatchEmployee_thenReturn204() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeService.patchEmployee(eq(employeeId), any(Employee.class))).willReturn(true);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(patch("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"Smith\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isNoContent())
+                .andDo(print());
+
+    }
+
+    // JUnit test for patch employee REST API - negative scenario
+    @Test
+    public void givenEmployeeChanges_whenPatchEmployee_thenReturn404() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeService.patchEmployee(eq(employeeId), any(Employee.class))).willReturn(false);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(patch("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"Smith\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+
+    }
+
     // JUnit test for deleteEmployee REST API
     @Test
     public void givenEmployeeId_whenDeleteEmployee_thenReturn200() throws Exception {
 
         // given - precondition or setup
         long employeeId = 1L;
-        willDoNothing().given(employeeService).deleteEmployee(employeeId);
+        given(employeeService.deleteEmployee(employeeId)).willReturn(1);
 
         // when - action or the behaviour that we are going to test
         ResultActions response = mvc.perform(delete("/api/employees/{id}", employeeId));
@@ -234,4 +754,57 @@ public class EmployeeControllerTest {
 
     }
 
+    // JUnit test for deleteEmployee REST API - negative scenario
+    @Test
+    public void givenInvalidEmployeeId_whenDeleteEmployee_thenReturn404() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeService.deleteEmployee(employeeId)).willReturn(0);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(delete("/api/employees/{id}", employeeId));
+
+        // then - verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+
+    }
+
+    // JUnit test for bulk deleteEmployees REST API
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.deleteEmployees(List.of(1L, 2L, 3L))).willReturn(3);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(delete("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2,3]"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(content().string("3"));
+
+    }
+
+    // JUnit test for bulk deleteEmployees REST API by email domain
+    @Test
+    public void givenEmailDomain_whenDeleteEmployees_thenReturnDeletedCount() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.deleteEmployeesByEmailDomain("mail.com")).willReturn(2);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(delete("/api/employees").param("emailDomain", "mail.com"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(content().string("2"));
+
+    }
+
 }
@@ -0,0 +1,63 @@
+package com.project.demo.controller;
+
+import com.project.demo.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeCsvTest {
+
+    // JUnit test for writing an employee as a CSV row
+    @Test
+    public void givenEmployeeWithSpecialCharacters_whenWrite_thenFieldsQuoted() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("John, Jr.")
+                .lastName("Doe \"JD\"")
+                .email("johndoe@mail.com")
+                .build();
+        StringWriter writer = new StringWriter();
+
+        // when - action or the behaviour that we are going to test
+        EmployeeCsv.writeHeader(writer);
+        EmployeeCsv.write(writer, employee);
+
+        // then - verify the output
+        assertThat(writer.toString()).isEqualTo("id,firstName,lastName,email\r\n"
+                + "1,\"John, Jr.\",\"Doe \"\"JD\"\"\",johndoe@mail.com\r\n");
+
+    }
+
+    // JUnit test for reading employees from CSV
+    @Test
+    public void givenCsvDocument_whenRead_thenEmployeesMappedByHeader() throws Exception {
+
+        // given - precondition or setup
+        String csv = "email,firstName,lastName\r\n"
+                + "johndoe@mail.com,\"John, Jr.\",\"Doe\r\n\"\"JD\"\"\"\r\n"
+                + "\r\n"
+                + "broken,row\r\n"
+                + "janedoe@mail.com,Jane,Doe";
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> employees = new ArrayList<>();
+        EmployeeCsv.read(new BufferedReader(new StringReader(csv))).forEachRemaining(employees::add);
+
+        // then - verify the output
+        assertThat(employees).hasSize(3);
+        assertThat(employees.get(0).getFirstName()).isEqualTo("John, Jr.");
+        assertThat(employees.get(0).getLastName()).isEqualTo("Doe\r\n\"JD\"");
+        assertThat(employees.get(1)).isNull();
+        assertThat(employees.get(2).getEmail()).isEqualTo("janedoe@mail.com");
+
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.project.demo.integration;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// runs against the embedded Tomcat, since response compression happens in the connector and MockMvc never sees it
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EmployeeContentNegotiationITest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setup(){
+        employeeRepository.deleteAll();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            employees.add(Employee.builder().firstName("John" + i).lastName("Doe").email("johndoe" + i + "@mail.com").build());
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    // JUnit test for gzip compressed CBOR responses
+    @Test
+    public void givenCborAndGzipAccepted_whenGetAllEmployees_thenCompressedCborBody() throws Exception {
+
+        // given - precondition or setup
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, "application/cbor");
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // when - action or the behaviour that we are going to test
+        ResponseEntity<byte[]> response = restTemplate.exchange("/api/employees", HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class);
+
+        // then - verify the output
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE)).isEqualTo("application/cbor");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertThat(new CBORMapper().readValue(body, EmployeeView[].class)).hasSize(100);
+        }
+
+    }
+
+    // JUnit test for conditional requests on a compressed list
+    @Test
+    public void givenListETag_whenGetAllEmployeesAgain_thenNotModified(){
+
+        // given - precondition or setup
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        String etag = restTemplate.exchange("/api/employees", HttpMethod.GET, new HttpEntity<>(headers), byte[].class)
+                .getHeaders().getETag();
+        headers.setIfNoneMatch(etag);
+
+        // when - action or the behaviour that we are going to test
+        ResponseEntity<byte[]> response = restTemplate.exchange("/api/employees", HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class);
+
+        // then - verify the output
+        assertThat(etag).startsWith("W/");
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+
+    }
+
+    // JUnit test for responses below the compression threshold
+    @Test
+    public void givenSmallResponse_whenGetEmployeeById_thenNotCompressed(){
+
+        // given - precondition or setup
+        long employeeId = employeeRepository.findAll().get(0).getId();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // when - action or the behaviour that we are going to test
+        ResponseEntity<String> response = restTemplate.exchange("/api/employees/{id}", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class, employeeId);
+
+        // then - verify the output
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(response.getBody()).contains("johndoe");
+
+    }
+
+}
@@ -3,6 +3,7 @@ package com.project.demo.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.demo.model.Employee;
 import com.project.demo.repository.EmployeeRepository;
+import com.project.demo.service.EmployeeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,19 +11,24 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -38,6 +44,9 @@ public class EmployeeControllerITest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EmployeeServiceImpl employeeService;
+
     @BeforeEach
     void setUp(){
         employeeRepository.deleteAll();
@@ -70,6 +79,28 @@ public class EmployeeControllerITest {
 
     }
 
+    // JUnit test for createEmployees REST API
+    @Test
+    public void givenListOfEmployees_whenCreateEmployees_thenReturnSavedEmployees() throws Exception {
+
+        // given - precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            listOfEmployees.add(Employee.builder().firstName("John" + i).lastName("Doe").email("johndoe" + i + "@mail.com").build());
+        }
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(listOfEmployees)));
+
+        // then - verify the output
+        response.andExpect(status().isCreated())
+                .andExpect(jsonPath("$.size()", is(120)));
+        assertThat(employeeRepository.count()).isEqualTo(120);
+
+    }
+
     // JUnit test for getAllEmployees REST API
     @Test
     public void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
@@ -90,6 +121,86 @@ public class EmployeeControllerITest {
 
     }
 
+    // JUnit test for streaming getAllEmployees REST API
+    @Test
+    public void givenListOfEmployees_whenStreamAllEmployees_thenReturnEmployeesArray() throws Exception {
+
+        // given - precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().firstName("John").lastName("Doe").email("johndoe@mail.com").build());
+        listOfEmployees.add(Employee.builder().firstName("Jane").lastName("Doe").email("janedoe@mail.com").build());
+        employeeRepository.saveAll(listOfEmployees);
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mvc.perform(get("/api/employees").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mvc.perform(asyncDispatch(result));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].email", is("johndoe@mail.com")));
+
+    }
+
+    // JUnit test for CSV export REST API
+    @Test
+    public void givenListOfEmployees_whenExportAsCsv_thenEveryRowExported() throws Exception {
+
+        // given - precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            listOfEmployees.add(Employee.builder().firstName("John" + i).lastName("Doe").email("johndoe" + i + "@mail.com").build());
+        }
+        employeeRepository.saveAll(listOfEmployees);
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mvc.perform(get("/api/employees/export").accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // then - verify the output
+        String[] lines = csv.split("\r\n");
+        assertThat(lines).hasSize(1201);
+        assertThat(lines[0]).isEqualTo("id,firstName,lastName,email");
+        assertThat(lines[1200]).endsWith(",John1199,Doe,johndoe1199@mail.com");
+
+    }
+
+    // JUnit test for CSV import REST API
+    @Test
+    public void givenCsvBody_whenImportEmployees_thenValidRowsCommittedInChunks() throws Exception {
+
+        // given - precondition or setup
+        employeeRepository.save(Employee.builder().firstName("Jim").lastName("Doe").email("jimdoe@mail.com").build());
+        String csv = "firstName,lastName,email\r\n"
+                + "John,Doe,johndoe@mail.com\r\n"
+                + "Jane,Doe,janedoe@mail.com\r\n"
+                + "Jim,Doe,jimdoe@mail.com\r\n"
+                + ",Doe,nobody@mail.com\r\n"
+                + "Jack,Doe,jackdoe@mail.com\r\n";
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(post("/api/employees/import")
+                .param("chunkSize", "2")
+                .contentType("text/csv")
+                .content(csv));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.accepted", is(3)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.chunks.size()", is(3)));
+        assertThat(employeeRepository.count()).isEqualTo(4);
+
+    }
+
     // positive - valid employee id
     // JUnit test for getEmployeeById REST API
     @Test
@@ -117,6 +228,44 @@ public class EmployeeControllerITest {
 
     }
 
+    // JUnit test for ETags and If-Match on the employee REST API
+    @Test
+    public void givenETag_whenConditionalRequests_thenNotModifiedAndStaleWritesRejected() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build();
+        employeeRepository.save(employee);
+        String etag = mvc.perform(get("/api/employees/{id}", employee.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when - action or the behaviour that we are going to test
+        ResultActions notModified = mvc.perform(get("/api/employees/{id}", employee.getId())
+                .header("If-None-Match", etag));
+        ResultActions updated = mvc.perform(patch("/api/employees/{id}", employee.getId())
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"Smith\"}"));
+        ResultActions stale = mvc.perform(put("/api/employees/{id}", employee.getId())
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        assertThat(etag).isEqualTo("\"0\"");
+        notModified.andExpect(status().isNotModified());
+        updated.andExpect(status().isNoContent());
+        stale.andExpect(status().isPreconditionFailed());
+        mvc.perform(get("/api/employees/{id}", employee.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.lastName", is("Smith")));
+
+    }
+
     // negative - valid employee id
     // JUnit test for getEmployeeById REST API
     @Test
@@ -202,6 +351,35 @@ public class EmployeeControllerITest {
 
     }
 
+    // JUnit test for patch employee REST API
+    @Test
+    public void givenEmployeeChanges_whenPatchEmployee_thenOnlySuppliedFieldsUpdated() throws Exception {
+
+        // given - precondition or setup
+        Employee savedEmployee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build();
+        employeeRepository.save(savedEmployee);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(patch("/api/employees/{id}", savedEmployee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"Smith\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isNoContent());
+        mvc.perform(get("/api/employees/{id}", savedEmployee.getId()))
+                .andExpect(jsonPath("$.firstName", is("John")))
+                .andExpect(jsonPath("$.lastName", is("Smith")));
+        mvc.perform(patch("/api/employees/{id}", savedEmployee.getId() + 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastName\":\"Smith\"}"))
+                .andExpect(status().isNotFound());
+
+    }
+
     // JUnit test for deleteEmployee REST API
     @Test
     public void givenEmployeeId_whenDeleteEmployee_thenReturn200() throws Exception {
@@ -223,4 +401,125 @@ public class EmployeeControllerITest {
 
     }
 
+    // JUnit test for deleteEmployee REST API - negative scenario
+    @Test
+    public void givenInvalidEmployeeId_whenDeleteEmployee_thenReturn404() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1000L;
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(delete("/api/employees/{id}", employeeId));
+
+        // then - verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+
+    }
+
+    // JUnit test for bulk deleteEmployees REST API
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount() throws Exception {
+
+        // given - precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().firstName("John").lastName("Doe").email("johndoe@mail.com").build());
+        listOfEmployees.add(Employee.builder().firstName("Jane").lastName("Doe").email("janedoe@mail.com").build());
+        listOfEmployees.add(Employee.builder().firstName("Jim").lastName("Doe").email("jimdoe@corp.com").build());
+        employeeRepository.saveAll(listOfEmployees);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(delete("/api/employees").param("emailDomain", "mail.com"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(content().string("2"));
+        assertThat(employeeRepository.findAll()).extracting(Employee::getEmail).containsExactly("jimdoe@corp.com");
+
+    }
+
+    // JUnit test for bulk deleteEmployees REST API with a wildcard domain
+    @Test
+    public void givenWildcardDomain_whenDeleteEmployees_thenBadRequestAndNothingDeleted() throws Exception {
+
+        // given - precondition or setup
+        employeeRepository.save(Employee.builder().firstName("John").lastName("Doe").email("johndoe@mail.com").build());
+
+        // when - action or the behaviour that we are going to test / then - verify the output
+        mvc.perform(delete("/api/employees").param("emailDomain", "%")).andExpect(status().isBadRequest());
+        mvc.perform(delete("/api/employees").param("emailDomain", "_ail.com")).andExpect(status().isBadRequest());
+        mvc.perform(delete("/api/employees").param("emailDomain", " ")).andExpect(status().isBadRequest());
+        assertThat(employeeRepository.count()).isEqualTo(1);
+
+    }
+
+    // JUnit test for searchEmployees REST API
+    @Test
+    public void givenCreatedEmployees_whenSearchEmployees_thenIndexKeptCurrent() throws Exception {
+
+        // given - precondition or setup
+        for (String firstName : List.of("Zelda", "Zeke", "Yvonne")) {
+            mvc.perform(post("/api/employees")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Employee.builder()
+                                    .firstName(firstName)
+                                    .lastName("Zimmer")
+                                    .email(firstName.toLowerCase() + "@zimmer.com")
+                                    .build())))
+                    .andExpect(status().isCreated());
+        }
+        Employee zeke = employeeRepository.findByEmail("zeke@zimmer.com").get();
+
+        // when - action or the behaviour that we are going to test
+        mvc.perform(delete("/api/employees/{id}", zeke.getId()));
+        ResultActions response = mvc.perform(get("/api/employees/search").param("prefix", "ze"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].firstName", is("Zelda")));
+        mvc.perform(get("/api/employees/search").param("prefix", "zimmer"))
+                .andExpect(jsonPath("$.size()", is(2)));
+
+    }
+
+    // JUnit test for getStatistics REST API
+    @Test
+    public void givenWrites_whenGetStatistics_thenCountersKeptCurrent() throws Exception {
+
+        // given - precondition or setup
+        // setUp clears the table behind the service's back, so start from a recount
+        employeeService.reconcileStatistics();
+        for (String firstName : List.of("Ann", "Bob", "Ann")) {
+            mvc.perform(post("/api/employees")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Employee.builder()
+                                    .firstName(firstName)
+                                    .lastName("Stats")
+                                    .email(firstName.toLowerCase() + System.nanoTime() + "@stats.com")
+                                    .build())))
+                    .andExpect(status().isCreated());
+        }
+        List<Employee> created = employeeRepository.findAll();
+        Employee bob = created.stream().filter(employee -> employee.getFirstName().equals("Bob")).findFirst().get();
+        Employee ann = created.stream().filter(employee -> employee.getFirstName().equals("Ann")).findFirst().get();
+
+        // when - action or the behaviour that we are going to test
+        mvc.perform(patch("/api/employees/{id}", bob.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"bob@corp.com\"}"))
+                .andExpect(status().isNoContent());
+        mvc.perform(delete("/api/employees/{id}", ann.getId()));
+        ResultActions response = mvc.perform(get("/api/employees/stats"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.emailDomains['stats.com']", is(1)))
+                .andExpect(jsonPath("$.emailDomains['corp.com']", is(1)))
+                .andExpect(jsonPath("$.firstNames.Ann", is(1)))
+                .andExpect(jsonPath("$.lastNames.Stats", is(2)));
+
+    }
+
 }
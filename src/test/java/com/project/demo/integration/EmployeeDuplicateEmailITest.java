@@ -0,0 +1,108 @@
+package com.project.demo.integration;
+
+import com.project.demo.dto.ImportResult;
+import com.project.demo.exception.ResourceNotFoundException;
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import com.project.demo.service.EmployeeImportService;
+import com.project.demo.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+
+// the up-front email check is made to miss every taken email, as it does when a concurrent writer takes one
+// after the check, so only the unique index on email catches the duplicate
+@SpringBootTest
+public class EmployeeDuplicateEmailITest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @SpyBean
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp(){
+        employeeRepository.deleteAll();
+        employeeRepository.save(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build());
+        doReturn(List.of()).when(employeeRepository).findExistingEmails(anyCollection());
+    }
+
+    // JUnit test for saveEmployees method with a duplicate only the database detects
+    @Test
+    public void givenEmailTakenAfterCheck_whenSaveEmployees_thenTranslatedAndRolledBack(){
+
+        // given - precondition or setup
+        List<Employee> employees = List.of(
+                Employee.builder().firstName("Jane").lastName("Doe").email("janedoe@mail.com").build(),
+                Employee.builder().firstName("Johnny").lastName("Doe").email("johndoe@mail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> employeeService.saveEmployees(employees));
+
+        // then - verify the output
+        assertThat(exception).hasCauseInstanceOf(DataIntegrityViolationException.class);
+        assertThat(employeeRepository.findAll()).extracting(Employee::getEmail).containsExactly("johndoe@mail.com");
+
+    }
+
+    // JUnit test for importEmployees method with a duplicate only the database detects
+    @Test
+    public void givenEmailTakenAfterCheck_whenImportEmployees_thenOnlyDuplicateRejected(){
+
+        // given - precondition or setup
+        List<Employee> rows = List.of(
+                Employee.builder().firstName("Jane").lastName("Doe").email("janedoe@mail.com").build(),
+                Employee.builder().firstName("Johnny").lastName("Doe").email("johndoe@mail.com").build(),
+                Employee.builder().firstName("Jim").lastName("Doe").email("jimdoe@mail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        ImportResult result = employeeImportService.importEmployees(rows.iterator(), 10);
+
+        // then - verify the output
+        assertThat(result.accepted()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(employeeRepository.findAll()).extracting(Employee::getEmail)
+                .containsExactlyInAnyOrder("johndoe@mail.com", "janedoe@mail.com", "jimdoe@mail.com");
+        assertThat(employeeRepository.findByEmail("johndoe@mail.com")).get().extracting(Employee::getFirstName).isEqualTo("John");
+
+    }
+
+    // JUnit test for the name index after a rolled-back saveEmployees
+    @Test
+    public void givenRolledBackBatch_whenSearchEmployees_thenRolledBackNamesNotFound(){
+
+        // given - precondition or setup
+        List<Employee> employees = List.of(
+                Employee.builder().firstName("Zelda").lastName("Doe").email("zelda@mail.com").build(),
+                Employee.builder().firstName("Johnny").lastName("Doe").email("johndoe@mail.com").build());
+        long totalBefore = employeeService.getStatistics(10).total();
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployees(employees));
+
+        // then - verify the output
+        assertThat(employeeService.searchEmployees("Zelda", 10)).isEmpty();
+        assertThat(employeeService.getStatistics(10).total()).isEqualTo(totalBefore);
+
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.project.demo.integration;
+
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import com.project.demo.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.project.demo.metrics.EmployeeMetricsAspect.REPOSITORY_TIMER;
+import static com.project.demo.metrics.EmployeeMetricsAspect.SERVICE_TIMER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class EmployeeMetricsITest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp(){
+        employeeRepository.deleteAll();
+    }
+
+    // JUnit test for service and repository timers
+    @Test
+    public void givenServiceCalls_whenTimed_thenTimersTaggedByMethodAndOutcome(){
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build();
+
+        // when - action or the behaviour that we are going to test
+        employeeService.saveEmployee(employee);
+        assertThrows(RuntimeException.class, () -> employeeService.saveEmployee(Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build()));
+
+        // then - verify the output
+        Timer success = meterRegistry.find(SERVICE_TIMER).tags("method", "saveEmployee", "outcome", "success").timer();
+        Timer error = meterRegistry.find(SERVICE_TIMER).tags("method", "saveEmployee", "outcome", "error").timer();
+        Timer save = meterRegistry.find(REPOSITORY_TIMER).tags("method", "save", "outcome", "success").timer();
+        Timer findByEmail = meterRegistry.find(REPOSITORY_TIMER).tags("method", "findByEmail").timer();
+        assertThat(success.count()).isEqualTo(1);
+        assertThat(error.count()).isEqualTo(1);
+        assertThat(save.count()).isEqualTo(1);
+        assertThat(findByEmail.count()).isEqualTo(1);
+
+    }
+
+    // JUnit test for the prometheus actuator endpoint
+    @Test
+    public void givenServiceCalls_whenScrapePrometheus_thenTimerHistogramsExposed() throws Exception {
+
+        // given - precondition or setup
+        employeeService.getAllEmployees();
+
+        // when - action or the behaviour that we are going to test / then - verify the output
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("employee_service_seconds_bucket{method=\"getAllEmployees\",outcome=\"success\"")))
+                .andExpect(content().string(containsString("employee_repository_seconds_count{method=\"findAll\"")));
+
+    }
+
+    // JUnit test for the connection pool meters
+    @Test
+    public void givenRepositoryCalls_whenScrapePrometheus_thenPoolMetricsExposed() throws Exception {
+
+        // given - precondition or setup
+        employeeRepository.count();
+
+        // when - action or the behaviour that we are going to test / then - verify the output
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("hikaricp_connections_active{")))
+                .andExpect(content().string(containsString("hikaricp_connections_idle{")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending{")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket{")));
+
+    }
+
+}
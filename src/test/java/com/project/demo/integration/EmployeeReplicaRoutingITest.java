@@ -0,0 +1,200 @@
+package com.project.demo.integration;
+
+import com.project.demo.config.ReplicaCopyFeed;
+import com.project.demo.config.ReplicaMonitor;
+import com.project.demo.config.ReplicaRoutingDataSource;
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import com.project.demo.service.EmployeeService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the scheduled copy and health check are slowed down so that the tests drive both themselves
+@SpringBootTest(properties = {"employee.replicas.copy-interval=PT1H", "employee.replicas.health-check-interval=PT1H"})
+@ActiveProfiles("replicas")
+@AutoConfigureMockMvc
+public class EmployeeReplicaRoutingITest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private ReplicaCopyFeed replicaCopyFeed;
+
+    @Autowired
+    private ReplicaMonitor replicaMonitor;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @BeforeEach
+    void setUp(){
+        employeeRepository.deleteAll();
+        replicaCopyFeed.copyToReplicas();
+        replicaMonitor.checkReplicas();
+    }
+
+    @AfterEach
+    void tearDown(){
+        replicaCopyFeed.copyToReplicas();
+        replicaMonitor.checkReplicas();
+    }
+
+    // JUnit test for routing of read-only service calls
+    @Test
+    public void givenHealthyReplicas_whenReadOnlyLookup_thenServedByReplica(){
+
+        // given - precondition or setup
+        assertThat(replicaRoutingDataSource.getHealthyReplicas()).containsExactly("replica-0", "replica-1");
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Ramesh")
+                .lastName("Fadatare")
+                .email("ramesh@replica.com")
+                .build());
+
+        // when - action or the behaviour that we are going to test
+        boolean beforeCopy = employeeService.getEmployeeByEmail("ramesh@replica.com").isPresent();
+        replicaCopyFeed.copyToReplicas();
+        boolean afterCopy = employeeService.getEmployeeByEmail("ramesh@replica.com").isPresent();
+
+        // then - verify the output
+        assertThat(employeeRepository.existsById(employee.getId())).isTrue();
+        assertThat(beforeCopy).isFalse();
+        assertThat(afterCopy).isTrue();
+        assertThat(employeeService.getEmployeesByName("Ramesh", "Fadatare")).hasSize(1);
+
+    }
+
+    // JUnit test for fallback to the primary
+    @Test
+    public void givenUnreachableReplicas_whenReadOnlyLookup_thenServedByPrimary(){
+
+        // given - precondition or setup
+        employeeService.saveEmployee(Employee.builder()
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("tony@replica.com")
+                .build());
+        replicaRoutingDataSource.getReplicas().values()
+                .forEach(replica -> new JdbcTemplate(replica).execute("drop table employees"));
+
+        // when - action or the behaviour that we are going to test
+        replicaMonitor.checkReplicas();
+        Health health = replicaMonitor.health();
+
+        // then - verify the output
+        assertThat(replicaRoutingDataSource.getHealthyReplicas()).isEmpty();
+        assertThat(employeeService.getEmployeeByEmail("tony@replica.com")).isPresent();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("reads", "primary");
+        assertThat((String) health.getDetails().get("replica-0")).startsWith("unreachable");
+
+    }
+
+    // JUnit test for the health of a replica the copy feed cannot write to
+    @Test
+    public void givenFailingCopy_whenReplicaChecked_thenCopyFailureReported(){
+
+        // given - precondition or setup
+        DataSource replica = replicaRoutingDataSource.getReplicas().get("replica-0");
+        new JdbcTemplate(replica).execute("alter table employees add constraint ck_employees_first_name check (first_name <> 'Bruce')");
+        employeeService.saveEmployee(Employee.builder()
+                .firstName("Bruce")
+                .lastName("Banner")
+                .email("bruce@replica.com")
+                .build());
+        ReplicaMonitor monitor = new ReplicaMonitor(replicaRoutingDataSource, Duration.ZERO, true);
+        ReplicaCopyFeed copyFeed = new ReplicaCopyFeed(primaryDataSource, replicaRoutingDataSource, monitor);
+
+        // when - action or the behaviour that we are going to test
+        copyFeed.copyToReplicas();
+        monitor.checkReplicas();
+        Health health = monitor.health();
+        new JdbcTemplate(replica).execute("alter table employees drop constraint ck_employees_first_name");
+
+        // then - verify the output
+        assertThat((String) health.getDetails().get("replica-0")).startsWith("not copied yet, copy failing:");
+        assertThat((String) health.getDetails().get("replica-1")).startsWith("last copied").doesNotContain("copy failing");
+
+    }
+
+    // JUnit test for updateEmployee REST API while the replicas lag behind the last write
+    @Test
+    public void givenLaggingReplicas_whenUpdateEmployee_thenVersionReadFromPrimary() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Ramesh")
+                .lastName("Fadatare")
+                .email("ramesh@replica.com")
+                .build());
+        replicaCopyFeed.copyToReplicas();
+        employeeService.patchEmployee(employee.getId(), Employee.builder().lastName("Smith").build());
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(put("/api/employees/{id}", employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Ram\",\"lastName\":\"Smith\",\"email\":\"ramesh@replica.com\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+        assertThat(employeeRepository.findLatestById(employee.getId())).get().extracting(Employee::getFirstName).isEqualTo("Ram");
+
+    }
+
+    // JUnit test for patchEmployee REST API on an employee the replicas have not seen yet
+    @Test
+    public void givenLaggingReplicas_whenPatchEmployeeWithStaleVersion_thenPreconditionFailed() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = employeeRepository.save(Employee.builder()
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("tony@replica.com")
+                .build());
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(patch("/api/employees/{id}", employee.getId())
+                .header("If-Match", "\"5\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"Smith\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isPreconditionFailed());
+        assertThat(employeeService.getEmployeeByEmail("tony@replica.com")).isEmpty();
+
+    }
+
+
+}
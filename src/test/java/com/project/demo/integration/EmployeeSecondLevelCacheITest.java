@@ -0,0 +1,175 @@
+package com.project.demo.integration;
+
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import com.project.demo.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// every repository call runs in its own session here, so a repeated lookup can only skip the database
+// through the second-level and query cache
+@SpringBootTest
+public class EmployeeSecondLevelCacheITest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setup(){
+        employeeRepository.deleteAll();
+        employee = employeeRepository.save(Employee.builder()
+                .firstName("Ramesh")
+                .lastName("Fadatare")
+                .email("ramesh@gmail.com")
+                .build());
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // JUnit test for findById with the second-level cache
+    @Test
+    public void givenCachedEmployee_whenFindByIdAgain_thenNoSql(){
+
+        // given - precondition or setup
+        employeeRepository.findById(employee.getId());
+        statistics.clear();
+
+        // when - action or the behaviour that we are going to test
+        Employee employeeDB = employeeRepository.findById(employee.getId()).get();
+
+        // then - verify the output
+        assertThat(employeeDB.getEmail()).isEqualTo("ramesh@gmail.com");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+
+    }
+
+    // JUnit test for findByEmail with the query cache
+    @Test
+    public void givenCachedQuery_whenFindByEmailAgain_thenNoSql(){
+
+        // given - precondition or setup
+        employeeRepository.findByEmail("ramesh@gmail.com");
+        statistics.clear();
+
+        // when - action or the behaviour that we are going to test
+        Employee employeeDB = employeeRepository.findByEmail("ramesh@gmail.com").get();
+
+        // then - verify the output
+        assertThat(employeeDB.getId()).isEqualTo(employee.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+    }
+
+    // JUnit test for the JPQL and native name lookups with the query cache
+    @Test
+    public void givenCachedQueries_whenFindByNameAgain_thenNoSql(){
+
+        // given - precondition or setup
+        employeeRepository.findByJPQL("Ramesh", "Fadatare");
+        employeeRepository.findByJPQLNamedParams("Ramesh", "Fadatare");
+        employeeRepository.findByNativeSQL("Ramesh", "Fadatare");
+        employeeRepository.findByNativeSQLNamedParams("Ramesh", "Fadatare");
+        statistics.clear();
+
+        // when - action or the behaviour that we are going to test
+        Employee byJpql = employeeRepository.findByJPQL("Ramesh", "Fadatare");
+        Employee byJpqlNamed = employeeRepository.findByJPQLNamedParams("Ramesh", "Fadatare");
+        Employee byNative = employeeRepository.findByNativeSQL("Ramesh", "Fadatare");
+        Employee byNativeNamed = employeeRepository.findByNativeSQLNamedParams("Ramesh", "Fadatare");
+
+        // then - verify the output
+        assertThat(byJpql.getId()).isEqualTo(employee.getId());
+        assertThat(byJpqlNamed.getId()).isEqualTo(employee.getId());
+        assertThat(byNative.getId()).isEqualTo(employee.getId());
+        assertThat(byNativeNamed.getId()).isEqualTo(employee.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    }
+
+    // JUnit test for query cache invalidation by a bulk update
+    @Test
+    public void givenCachedQuery_whenEmployeeUpdated_thenFreshResult(){
+
+        // given - precondition or setup
+        employeeRepository.findByEmail("ramesh@gmail.com");
+        employeeRepository.updatePartially(employee.getId(), null, "Smith", null, null);
+        statistics.clear();
+
+        // when - action or the behaviour that we are going to test
+        Employee employeeDB = employeeRepository.findByEmail("ramesh@gmail.com").get();
+
+        // then - verify the output
+        assertThat(employeeDB.getLastName()).isEqualTo("Smith");
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+
+    }
+
+    // JUnit test for invalidation of every cached query by an entity update
+    @Test
+    public void givenCachedQueries_whenEmployeeRenamed_thenNoStaleResult(){
+
+        // given - precondition or setup
+        employeeRepository.findByEmail("ramesh@gmail.com");
+        employeeRepository.findByJPQL("Ramesh", "Fadatare");
+        employeeRepository.findByJPQLNamedParams("Ramesh", "Fadatare");
+        employeeRepository.findByNativeSQL("Ramesh", "Fadatare");
+        employeeRepository.findByNativeSQLNamedParams("Ramesh", "Fadatare");
+        employeeRepository.findViewByEmail("ramesh@gmail.com");
+        employeeRepository.findViewsByName("Ramesh", "Fadatare");
+
+        // when - action or the behaviour that we are going to test
+        Employee renamed = employeeRepository.findById(employee.getId()).get();
+        renamed.setFirstName("Suresh");
+        renamed.setEmail("suresh@gmail.com");
+        employeeRepository.save(renamed);
+
+        // then - verify the output
+        assertThat(employeeRepository.findByEmail("ramesh@gmail.com")).isEmpty();
+        assertThat(employeeRepository.findByJPQL("Ramesh", "Fadatare")).isNull();
+        assertThat(employeeRepository.findByJPQLNamedParams("Ramesh", "Fadatare")).isNull();
+        assertThat(employeeRepository.findByNativeSQL("Ramesh", "Fadatare")).isNull();
+        assertThat(employeeRepository.findByNativeSQLNamedParams("Ramesh", "Fadatare")).isNull();
+        assertThat(employeeRepository.findViewByEmail("ramesh@gmail.com")).isEmpty();
+        assertThat(employeeRepository.findViewsByName("Ramesh", "Fadatare")).isEmpty();
+        assertThat(employeeRepository.findByNativeSQL("Suresh", "Fadatare").getId()).isEqualTo(employee.getId());
+
+    }
+
+    // JUnit test for full scans bypassing the second-level cache
+    @Test
+    public void givenFullTableScans_whenDone_thenNothingPutInCache(){
+
+        // given - precondition or setup
+        statistics.clear();
+
+        // when - action or the behaviour that we are going to test
+        int found = employeeRepository.findAll().size();
+        employeeService.streamAllEmployees(employee -> {});
+
+        // then - verify the output
+        assertThat(found).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+        assertThat(entityManagerFactory.getCache().contains(Employee.class, employee.getId())).isFalse();
+
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.project.demo.integration;
+
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import com.project.demo.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import static com.project.demo.config.CacheConfig.EMPLOYEES_CACHE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class EmployeeServiceCacheITest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache cache;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp(){
+        employeeRepository.deleteAll();
+        cache = cacheManager.getCache(EMPLOYEES_CACHE);
+        cache.clear();
+
+        employee = employeeRepository.save(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build());
+    }
+
+    // JUnit test for getEmployeeById read-through caching
+    @Test
+    public void givenEmployeeId_whenGetEmployeeByIdTwice_thenSecondCallServedFromCache(){
+
+        // given - precondition or setup
+        employeeService.getEmployeeById(employee.getId());
+
+        // when - action or the behaviour that we are going to test
+        employeeRepository.deleteAllInBatch();
+        Employee cachedEmployee = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+
+        // then - verify the output
+        assertThat(cachedEmployee.getEmail()).isEqualTo(employee.getEmail());
+
+    }
+
+    // JUnit test for updateEmployee cache refresh
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenCacheRefreshed(){
+
+        // given - precondition or setup
+        Employee savedEmployee = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+
+        // when - action or the behaviour that we are going to test
+        savedEmployee.setLastName("Smith");
+        employeeService.updateEmployee(savedEmployee);
+
+        // then - verify the output
+        assertThat(cache.get(employee.getId(), Employee.class).getLastName()).isEqualTo("Smith");
+
+    }
+
+    // JUnit test for deleteEmployee cache eviction
+    @Test
+    public void givenCachedEmployee_whenDeleteEmployee_thenCacheEvicted(){
+
+        // given - precondition or setup
+        employeeService.getEmployeeById(employee.getId());
+
+        // when - action or the behaviour that we are going to test
+        employeeService.deleteEmployee(employee.getId());
+
+        // then - verify the output
+        assertThat(cache.get(employee.getId())).isNull();
+        assertThat(employeeService.getEmployeeById(employee.getId())).isEmpty();
+
+    }
+
+}
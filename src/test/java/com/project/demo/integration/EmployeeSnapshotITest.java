@@ -0,0 +1,114 @@
+package com.project.demo.integration;
+
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import com.project.demo.service.EmployeeSnapshot;
+import com.project.demo.service.EmployeeSnapshotWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// one node both exports and serves; the scheduled export and poll are slowed down so that the tests decide when
+// a snapshot is written and swapped in
+@SpringBootTest(properties = {"employee.snapshot.enabled=true", "employee.snapshot.export=true",
+        "employee.snapshot.path=target/employees-itest.snapshot", "employee.snapshot.poll-interval=PT1H",
+        "employee.snapshot.export-interval=PT1H"})
+@AutoConfigureMockMvc
+public class EmployeeSnapshotITest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeSnapshotWriter snapshotWriter;
+
+    @Autowired
+    private EmployeeSnapshot snapshot;
+
+    @BeforeEach
+    void setUp(){
+        employeeRepository.deleteAll();
+    }
+
+    // JUnit test for serving reads from an exported snapshot
+    @Test
+    public void givenExportedSnapshot_whenGetEmployeeById_thenServedFromSnapshotUntilNextOne() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = employeeRepository.save(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build());
+        snapshotWriter.export();
+        snapshot.reload();
+
+        // when - action or the behaviour that we are going to test
+        employeeRepository.deleteById(employee.getId());
+
+        // then - verify the output
+        mvc.perform(get("/api/employees/{id}", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.email", is("johndoe@mail.com")));
+        mvc.perform(get("/api/employees").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)));
+
+        snapshotWriter.export();
+        snapshot.reload();
+        mvc.perform(get("/api/employees/{id}", employee.getId())).andExpect(status().isNotFound());
+
+    }
+
+    // JUnit test for updateEmployee REST API while the snapshot is behind the database
+    @Test
+    public void givenStaleSnapshot_whenUpdateEmployee_thenDatabaseRowRead() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = employeeRepository.save(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build());
+        Employee deleted = employeeRepository.save(Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("janedoe@mail.com")
+                .build());
+        snapshotWriter.export();
+        snapshot.reload();
+        employeeRepository.updatePartially(employee.getId(), null, "Smith", null, null);
+        employeeRepository.deleteById(deleted.getId());
+
+        // when - action or the behaviour that we are going to test
+        String body = "{\"firstName\":\"Johnny\",\"lastName\":\"Smith\",\"email\":\"johndoe@mail.com\"}";
+        mvc.perform(put("/api/employees/{id}", employee.getId()).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+        mvc.perform(put("/api/employees/{id}", deleted.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(body.replace("johndoe", "janedoe")))
+                .andExpect(status().isNotFound());
+
+        // then - verify the output
+        assertThat(employeeRepository.findById(employee.getId())).get().extracting(Employee::getFirstName).isEqualTo("Johnny");
+        assertThat(employeeRepository.existsById(deleted.getId())).isFalse();
+
+    }
+
+}
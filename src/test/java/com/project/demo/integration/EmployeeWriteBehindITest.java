@@ -0,0 +1,303 @@
+package com.project.demo.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.dto.ImportResult;
+import com.project.demo.exception.ResourceNotFoundException;
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import com.project.demo.service.EmployeeImportService;
+import com.project.demo.service.EmployeeService;
+import com.project.demo.service.EmployeeWriteBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the background flush is slowed down so that the tests decide when buffered writes are committed
+@SpringBootTest(properties = {"employee.write-behind.enabled=true", "employee.write-behind.flush-interval=PT1H",
+        "employee.write-behind.batch-size=1000"})
+@AutoConfigureMockMvc
+public class EmployeeWriteBehindITest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeWriteBuffer writeBuffer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp(){
+        writeBuffer.flush();
+        employeeRepository.deleteAll();
+    }
+
+    // JUnit test for a buffered create
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenAcceptedAndReadableBeforeCommit() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build();
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn();
+        long id = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+
+        // then - verify the output
+        assertThat(employeeRepository.existsById(id)).isFalse();
+        mvc.perform(get("/api/employees/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email", is("johndoe@mail.com")));
+        mvc.perform(get("/api/employees/lookup").param("email", "johndoe@mail.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is((int) id)));
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployeeBehind(employee));
+
+        writeBuffer.flush();
+        assertThat(employeeRepository.findById(id)).get().extracting(Employee::getEmail).isEqualTo("johndoe@mail.com");
+        assertThat(writeBuffer.size()).isZero();
+
+    }
+
+    // JUnit test for coalesced buffered updates
+    @Test
+    public void givenBufferedEmployee_whenUpdateTwice_thenOneRowWithLatestStateCommitted() throws Exception {
+
+        // given - precondition or setup
+        long id = employeeService.saveEmployeeBehind(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build()).orElseThrow().getId();
+
+        // when - action or the behaviour that we are going to test
+        mvc.perform(put("/api/employees/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"John\",\"lastName\":\"Smith\",\"email\":\"johnsmith@mail.com\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("ETag", "\"1\""));
+        mvc.perform(put("/api/employees/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", "\"1\"")
+                        .content("{\"firstName\":\"Johnny\",\"lastName\":\"Smith\",\"email\":\"johnsmith@mail.com\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("ETag", "\"2\""));
+        long flushesBefore = meterRegistry.timer(EmployeeWriteBuffer.FLUSH_TIMER, "outcome", "success").count();
+        assertThat(meterRegistry.get(EmployeeWriteBuffer.PENDING_GAUGE).gauge().value()).isEqualTo(1);
+        writeBuffer.flush();
+
+        // then - verify the output
+        Employee committed = employeeRepository.findById(id).orElseThrow();
+        assertThat(committed.getFirstName()).isEqualTo("Johnny");
+        assertThat(committed.getVersion()).isEqualTo(2L);
+        assertThat(meterRegistry.timer(EmployeeWriteBuffer.FLUSH_TIMER, "outcome", "success").count()).isEqualTo(flushesBefore + 1);
+        assertThat(meterRegistry.timer(EmployeeWriteBuffer.LAG_TIMER).count()).isPositive();
+        assertThat(meterRegistry.get(EmployeeWriteBuffer.PENDING_GAUGE).gauge().value()).isZero();
+        assertThat(employeeService.searchEmployees("Johnny", 10)).hasSize(1);
+
+    }
+
+    // JUnit test for second-level cache invalidation by a flush
+    @Test
+    public void givenCachedEmployee_whenBufferedUpdateFlushed_thenCachedEntityReplaced(){
+
+        // given - precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build());
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findByEmail("johndoe@mail.com");
+
+        // when - action or the behaviour that we are going to test
+        employeeService.updateEmployeeBehind(Employee.builder()
+                .id(employee.getId())
+                .firstName("John")
+                .lastName("Smith")
+                .email("johndoe@mail.com")
+                .version(employee.getVersion())
+                .build()).orElseThrow();
+        writeBuffer.flush();
+
+        // then - verify the output
+        assertThat(employeeRepository.findById(employee.getId())).get().extracting(Employee::getLastName).isEqualTo("Smith");
+        assertThat(employeeRepository.findByEmail("johndoe@mail.com")).get().extracting(Employee::getLastName).isEqualTo("Smith");
+
+    }
+
+    // JUnit test for deleting a buffered employee
+    @Test
+    public void givenBufferedEmployee_whenDeleteEmployee_thenNotWrittenBackLater() throws Exception {
+
+        // given - precondition or setup
+        long id = employeeService.saveEmployeeBehind(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build()).orElseThrow().getId();
+
+        // when - action or the behaviour that we are going to test
+        mvc.perform(delete("/api/employees/{id}", id)).andExpect(status().isOk());
+        writeBuffer.flush();
+
+        // then - verify the output
+        mvc.perform(get("/api/employees/{id}", id)).andExpect(status().isNotFound());
+        assertThat(employeeRepository.existsById(id)).isFalse();
+
+    }
+
+    // JUnit test for a buffered update flushed after a partial update of the same employee
+    @Test
+    public void givenPatchCommittedBeforeFlush_whenBufferedUpdateFlushed_thenPatchKept(){
+
+        // given - precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build());
+        employeeService.updateEmployeeBehind(employee.toBuilder().firstName("Johnny").build()).orElseThrow();
+        double conflictsBefore = meterRegistry.counter(EmployeeWriteBuffer.CONFLICTS_COUNTER).count();
+
+        // when - action or the behaviour that we are going to test
+        // a PATCH that committed between the buffered update's version check and its flush
+        employeeRepository.updatePartially(employee.getId(), null, "Smith", null, null);
+        writeBuffer.flush();
+
+        // then - verify the output
+        Employee committed = employeeRepository.findById(employee.getId()).orElseThrow();
+        assertThat(committed.getFirstName()).isEqualTo("John");
+        assertThat(committed.getLastName()).isEqualTo("Smith");
+        assertThat(committed.getVersion()).isEqualTo(1L);
+        assertThat(meterRegistry.counter(EmployeeWriteBuffer.CONFLICTS_COUNTER).count()).isEqualTo(conflictsBefore + 1);
+        assertThat(writeBuffer.size()).isZero();
+        assertThat(employeeService.getEmployeeById(employee.getId())).get().extracting(Employee::getLastName).isEqualTo("Smith");
+
+    }
+
+    // JUnit test for a buffered update flushed after the employee was deleted
+    @Test
+    public void givenDeleteCommittedBeforeFlush_whenBufferedUpdateFlushed_thenEmployeeStaysDeleted() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build());
+        employeeService.updateEmployeeBehind(employee.toBuilder().firstName("Johnny").build()).orElseThrow();
+        double conflictsBefore = meterRegistry.counter(EmployeeWriteBuffer.CONFLICTS_COUNTER).count();
+
+        // when - action or the behaviour that we are going to test
+        // a DELETE that committed after the flush had taken the buffered update
+        employeeRepository.deleteDirectly(employee.getId());
+        writeBuffer.flush();
+
+        // then - verify the output
+        assertThat(employeeRepository.existsById(employee.getId())).isFalse();
+        assertThat(meterRegistry.counter(EmployeeWriteBuffer.CONFLICTS_COUNTER).count()).isEqualTo(conflictsBefore + 1);
+        mvc.perform(get("/api/employees/{id}", employee.getId())).andExpect(status().isNotFound());
+
+    }
+
+    // JUnit test for synchronous creates with the email of a buffered create
+    @Test
+    public void givenBufferedCreate_whenSaveEmployeesOrImportWithSameEmail_thenRejectedAndBufferedCreateKept(){
+
+        // given - precondition or setup
+        long id = employeeService.saveEmployeeBehind(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build()).orElseThrow().getId();
+        double droppedBefore = meterRegistry.counter(EmployeeWriteBuffer.DROPPED_COUNTER).count();
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployees(List.of(
+                Employee.builder().firstName("Johnny").lastName("Doe").email("johndoe@mail.com").build())));
+        ImportResult result = employeeImportService.importEmployees(List.of(
+                Employee.builder().firstName("Jim").lastName("Doe").email("johndoe@mail.com").build(),
+                Employee.builder().firstName("Jane").lastName("Doe").email("janedoe@mail.com").build()).iterator(), 10);
+        writeBuffer.flush();
+
+        // then - verify the output
+        assertThat(result.accepted()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(employeeRepository.findByEmail("johndoe@mail.com")).get().extracting(Employee::getId).isEqualTo(id);
+        assertThat(meterRegistry.counter(EmployeeWriteBuffer.DROPPED_COUNTER).count()).isEqualTo(droppedBefore);
+
+    }
+
+    // JUnit test for a buffered create whose email was taken before the flush
+    @Test
+    public void givenEmailTakenBeforeFlush_whenBufferedCreateFlushed_thenDroppedAndOthersCommitted(){
+
+        // given - precondition or setup
+        employeeService.saveEmployeeBehind(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@mail.com")
+                .build()).orElseThrow();
+        long janeId = employeeService.saveEmployeeBehind(Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("janedoe@mail.com")
+                .build()).orElseThrow().getId();
+        double droppedBefore = meterRegistry.counter(EmployeeWriteBuffer.DROPPED_COUNTER).count();
+
+        // when - action or the behaviour that we are going to test
+        // a writer that took the email without looking at the buffer
+        employeeRepository.save(Employee.builder().firstName("Johnny").lastName("Doe").email("johndoe@mail.com").build());
+        writeBuffer.flush();
+
+        // then - verify the output
+        assertThat(writeBuffer.size()).isZero();
+        assertThat(meterRegistry.counter(EmployeeWriteBuffer.DROPPED_COUNTER).count()).isEqualTo(droppedBefore + 1);
+        assertThat(employeeRepository.findByEmail("johndoe@mail.com")).get().extracting(Employee::getFirstName).isEqualTo("Johnny");
+        assertThat(employeeRepository.existsById(janeId)).isTrue();
+
+    }
+
+}
@@ -0,0 +1,252 @@
+package com.project.demo.integration;
+
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.model.Employee;
+import com.project.demo.repository.ReactiveEmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+
+// the WebFlux + R2DBC stack of the "reactive" profile, end to end over HTTP
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerITest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @SpyBean
+    private ReactiveEmployeeRepository employeeRepository;
+
+    private EmployeeView create(String firstName, String lastName, String email){
+        return webTestClient.post().uri("/api/employees")
+                .bodyValue(Employee.builder().firstName(firstName).lastName(lastName).email(email).build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(EmployeeView.class)
+                .returnResult().getResponseBody();
+    }
+
+    // JUnit test for the reactive profile wiring
+    @Test
+    public void givenReactiveProfile_whenContextStarts_thenNoBlockingStack(){
+
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        String[] dataSources = applicationContext.getBeanNamesForType(DataSource.class);
+
+        // then - verify the output
+        assertThat(dataSources).isEmpty();
+        assertThat(applicationContext.containsBean("employeeController")).isFalse();
+
+    }
+
+    // JUnit test for create and get employee REST API
+    @Test
+    public void givenEmployeeObject_whenCreateAndGetEmployee_thenVersionedEmployee(){
+
+        // given - precondition or setup
+        EmployeeView created = create("Ramesh", "Fadatare", "ramesh.reactive@mail.com");
+
+        // when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", created.id()).exchange();
+
+        // then - verify the output
+        assertThat(created.id()).isNotNull();
+        assertThat(created.version()).isZero();
+        response.expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"0\"")
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("ramesh.reactive@mail.com");
+        webTestClient.get().uri("/api/employees/{id}", created.id())
+                .header("If-None-Match", "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+        webTestClient.get().uri("/api/employees/{id}", created.id() + 1000)
+                .exchange()
+                .expectStatus().isNotFound();
+
+    }
+
+    // JUnit test for create employee REST API with a taken email
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenRejected(){
+
+        // given - precondition or setup
+        create("Tony", "Stark", "tony.reactive@mail.com");
+
+        // when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .bodyValue(Employee.builder().firstName("Tony").lastName("Stark").email("tony.reactive@mail.com").build())
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().is5xxServerError();
+
+    }
+
+    // JUnit test for batch create and streaming list REST API
+    @Test
+    public void givenEmployeesBatch_whenCreateEmployees_thenStreamedInList(){
+
+        // given - precondition or setup
+        List<Employee> employees = List.of(
+                Employee.builder().firstName("Zorro").lastName("Batch").email("zorro1.reactive@mail.com").build(),
+                Employee.builder().firstName("Zorro").lastName("Batch").email("zorro2.reactive@mail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeView> created = webTestClient.post().uri("/api/employees/batch")
+                .bodyValue(employees)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBodyList(EmployeeView.class)
+                .returnResult().getResponseBody();
+
+        // then - verify the output
+        assertThat(created).hasSize(2);
+        List<EmployeeView> streamed = webTestClient.get().uri("/api/employees/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(EmployeeView.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertThat(streamed).containsAll(created);
+        webTestClient.get().uri(uri -> uri.path("/api/employees/lookup").queryParam("firstName", "Zorro").queryParam("lastName", "Batch").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EmployeeView.class).hasSize(2);
+        webTestClient.get().uri(uri -> uri.path("/api/employees/search").queryParam("prefix", "zorro b").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EmployeeView.class).hasSize(2);
+
+    }
+
+    // JUnit test for patch and put employee REST API with If-Match
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenPreconditionFailed(){
+
+        // given - precondition or setup
+        EmployeeView created = create("Bruce", "Wayne", "bruce.reactive@mail.com");
+
+        // when - action or the behaviour that we are going to test
+        webTestClient.patch().uri("/api/employees/{id}", created.id())
+                .header("If-Match", "\"0\"")
+                .bodyValue(Employee.builder().lastName("Batman").build())
+                .exchange()
+                .expectStatus().isNoContent();
+        WebTestClient.ResponseSpec stale = webTestClient.put().uri("/api/employees/{id}", created.id())
+                .header("If-Match", "\"0\"")
+                .bodyValue(Employee.builder().firstName("Bruce").lastName("Wayne").email("bruce.reactive@mail.com").build())
+                .exchange();
+
+        // then - verify the output
+        stale.expectStatus().isEqualTo(412);
+        webTestClient.get().uri("/api/employees/{id}", created.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectBody()
+                .jsonPath("$.lastName").isEqualTo("Batman");
+
+    }
+
+    // JUnit test for delete employee REST API
+    @Test
+    public void givenEmployee_whenDeleteEmployee_thenDeletedAndNotFoundAfterwards(){
+
+        // given - precondition or setup
+        EmployeeView created = create("Barry", "Allen", "barry@starlabs.example");
+
+        // when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.delete()
+                .uri("/api/employees/{id}", created.id())
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isOk();
+        webTestClient.delete().uri("/api/employees/{id}", created.id()).exchange().expectStatus().isNotFound();
+
+    }
+
+    // JUnit test for delete employee REST API
+    @Test
+    public void givenEmployeesWithDomain_whenDeleteByEmailDomain_thenDeletedCount(){
+
+        // given - precondition or setup
+        create("Clark", "Kent", "clark@dailyplanet.example");
+        create("Lois", "Lane", "lois@dailyplanet.example");
+
+        // when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.delete()
+                .uri(uri -> uri.path("/api/employees").queryParam("emailDomain", "dailyplanet.example").build())
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isOk()
+                .expectBody(Long.class).isEqualTo(2L);
+
+    }
+
+    // JUnit test for delete employee REST API with a wildcard domain
+    @Test
+    public void givenWildcardDomain_whenDeleteByEmailDomain_thenBadRequestAndNothingDeleted(){
+
+        // given - precondition or setup
+        EmployeeView created = create("Bruce", "Wayne", "bruce@wayne.example");
+
+        // when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.delete()
+                .uri(uri -> uri.path("/api/employees").queryParam("emailDomain", "{domain}").build("%"))
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/employees/{id}", created.id()).exchange().expectStatus().isOk();
+
+    }
+
+    // JUnit test for the name index after a rolled-back batch create
+    @Test
+    public void givenEmailTakenAfterCheck_whenCreateEmployees_thenRolledBackNamesNotSearchable(){
+
+        // given - precondition or setup
+        create("Diana", "Prince", "diana@themyscira.example");
+        doReturn(Flux.empty()).when(employeeRepository).findExistingEmails(anyCollection());
+
+        // when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees/batch")
+                .bodyValue(List.of(
+                        Employee.builder().firstName("Hippolyta").lastName("Queen").email("hippolyta@themyscira.example").build(),
+                        Employee.builder().firstName("Diana").lastName("Prince").email("diana@themyscira.example").build()))
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().is5xxServerError();
+        webTestClient.get().uri(uri -> uri.path("/api/employees/search").queryParam("prefix", "Hippolyta").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(0);
+
+    }
+
+}
@@ -1,16 +1,22 @@
 package com.project.demo.repository;
 
+import com.project.demo.dto.EmployeeView;
 import com.project.demo.model.Employee;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
 public class EmployeeRepositoryTest {
@@ -18,6 +24,9 @@ public class EmployeeRepositoryTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Employee employee;
 
     @BeforeEach
@@ -80,6 +89,161 @@ public class EmployeeRepositoryTest {
 
     }
 
+    // JUnit test for the unique email index
+    @Test
+    public void givenEmployeeWithTakenEmail_whenSave_thenThrowsException(){
+
+        // given - precondition or setup
+        employeeRepository.save(employee);
+        Employee duplicate = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email(employee.getEmail())
+                .build();
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            employeeRepository.saveAndFlush(duplicate);
+        });
+
+    }
+
+    // JUnit test for partial update operation
+    @Test
+    public void givenEmployeeObject_whenUpdatePartially_thenOnlySuppliedColumnsChange(){
+
+        // given - precondition or setup
+        employeeRepository.save(employee);
+
+        // when - action or the behaviour that we are going to test
+        int updated = employeeRepository.updatePartially(employee.getId(), null, "Smith", null, null);
+        entityManager.clear();
+
+        // then - verify the output
+        Employee employeeDB = employeeRepository.findById(employee.getId()).get();
+        assertThat(updated).isEqualTo(1);
+        assertThat(employeeDB.getFirstName()).isEqualTo("John");
+        assertThat(employeeDB.getLastName()).isEqualTo("Smith");
+        assertThat(employeeDB.getVersion()).isEqualTo(1L);
+        assertThat(employeeRepository.updatePartially(employee.getId() + 1, null, "Smith", null, null)).isZero();
+
+    }
+
+    // JUnit test for partial update operation with an expected version
+    @Test
+    public void givenStaleVersion_whenUpdatePartially_thenNothingChanges(){
+
+        // given - precondition or setup
+        employeeRepository.save(employee);
+
+        // when - action or the behaviour that we are going to test
+        int stale = employeeRepository.updatePartially(employee.getId(), null, "Smith", null, 1L);
+        int current = employeeRepository.updatePartially(employee.getId(), "Jim", null, null, 0L);
+        entityManager.clear();
+
+        // then - verify the output
+        Employee employeeDB = employeeRepository.findById(employee.getId()).get();
+        assertThat(stale).isZero();
+        assertThat(current).isEqualTo(1);
+        assertThat(employeeDB.getFirstName()).isEqualTo("Jim");
+        assertThat(employeeDB.getLastName()).isEqualTo("Doe");
+        assertThat(employeeDB.getVersion()).isEqualTo(1L);
+
+    }
+
+    // JUnit test for set-based delete operation
+    @Test
+    public void givenEmployeesList_whenDeleteAllDirectly_thenDeletedCount(){
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("janedoe@mail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+
+        // when - action or the behaviour that we are going to test
+        List<Long> ids = employeeRepository.findIdsByEmailDomain("mail.com");
+        int deleted = employeeRepository.deleteAllDirectly(ids);
+
+        // then - verify the output
+        assertThat(ids).containsExactlyInAnyOrder(employee.getId(), employee1.getId());
+        assertThat(deleted).isEqualTo(2);
+        assertThat(employeeRepository.deleteDirectly(employee.getId())).isZero();
+
+    }
+
+    // JUnit test for findIdsByEmailDomain method with like wildcards in the domain
+    @Test
+    public void givenWildcardDomain_whenFindIdsByEmailDomain_thenNothingMatched(){
+
+        // given - precondition or setup
+        employeeRepository.save(Employee.builder().firstName("John").lastName("Doe").email("johndoe@mail.com").build());
+        employeeRepository.save(Employee.builder().firstName("Jane").lastName("Doe").email("janedoe@mail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        List<Long> percent = employeeRepository.findIdsByEmailDomain("%");
+        List<Long> underscore = employeeRepository.findIdsByEmailDomain("_ail.com");
+
+        // then - verify the output
+        assertThat(percent).isEmpty();
+        assertThat(underscore).isEmpty();
+        assertThat(employeeRepository.findIdsByEmailDomain("ail.com")).isEmpty();
+
+    }
+
+    // JUnit test for projection lookups
+    @Test
+    public void givenEmployeeObject_whenFindViews_thenReturnEmployeeViews(){
+
+        // given - precondition or setup
+        employeeRepository.save(employee);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeView> views = employeeRepository.findAllViews();
+        EmployeeView byEmail = employeeRepository.findViewByEmail(employee.getEmail()).get();
+        List<EmployeeView> byName = employeeRepository.findViewsByName("John", "Doe");
+
+        // then - verify the output
+        assertThat(views).containsExactly(new EmployeeView(employee.getId(), "John", "Doe", "johndoe@mail.com", 0L));
+        assertThat(byEmail).isEqualTo(views.get(0));
+        assertThat(byName).containsExactly(byEmail);
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+
+    }
+
+    // JUnit test for keyset page operation
+    @Test
+    public void givenEmployeesList_whenFindViewsAfter_thenNextPage(){
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("janedoe@mail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("Jim")
+                .lastName("Doe")
+                .email("jimdoe@mail.com")
+                .build();
+
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+        employeeRepository.save(employee2);
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeView> employees = employeeRepository.findViewsAfter(employee.getId(), PageRequest.ofSize(1));
+
+        // then - verify the output
+        assertThat(employees).extracting(EmployeeView::id).containsExactly(employee1.getId());
+
+    }
+
     // JUnit test for
     @Test
     public void givenEmployeeObject_whenFindById_thenReturnEmployeeObject(){
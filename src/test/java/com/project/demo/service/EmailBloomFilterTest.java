@@ -0,0 +1,56 @@
+package com.project.demo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmailBloomFilterTest {
+
+    private EmailBloomFilter emailFilter;
+
+    @BeforeEach
+    void setUp() {
+        emailFilter = new EmailBloomFilter(1000, 0.01);
+    }
+
+    // JUnit test for mightContain method with emails that were added
+    @Test
+    public void givenAddedEmails_whenMightContain_thenTrue(){
+
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        emailFilter.put("johndoe@mail.com");
+        emailFilter.put("janedoe@mail.com");
+
+        // then - verify the output
+        assertThat(emailFilter.mightContain("johndoe@mail.com")).isTrue();
+        assertThat(emailFilter.mightContain("janedoe@mail.com")).isTrue();
+
+    }
+
+    // JUnit test for mightContain method with emails that were never added
+    @Test
+    public void givenNewEmails_whenMightContain_thenMostlyFalse(){
+
+        // given - precondition or setup
+        for (int i = 0; i < 1000; i++) {
+            emailFilter.put("employee" + i + "@mail.com");
+        }
+
+        // when - action or the behaviour that we are going to test
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (emailFilter.mightContain("newcomer" + i + "@mail.com")) {
+                falsePositives++;
+            }
+        }
+
+        // then - verify the output
+        assertThat(emailFilter.mightContain(null)).isFalse();
+        assertThat(falsePositives).isLessThan(300);
+
+    }
+
+}
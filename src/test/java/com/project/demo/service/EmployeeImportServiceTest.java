@@ -0,0 +1,96 @@
+package com.project.demo.service;
+
+import com.project.demo.dto.ImportResult;
+import com.project.demo.exception.ResourceNotFoundException;
+import com.project.demo.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeImportServiceTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeImportService employeeImportService;
+
+    @BeforeEach
+    void setUp() {
+        employeeImportService = new EmployeeImportService(employeeService, 500);
+    }
+
+    private static Employee employee(String firstName, String email) {
+        return Employee.builder().firstName(firstName).lastName("Doe").email(email).build();
+    }
+
+    // JUnit test for importEmployees method
+    @Test
+    public void givenRows_whenImportEmployees_thenCommittedInChunksAndInvalidRowsRejected(){
+
+        // given - precondition or setup
+        List<Employee> rows = Arrays.asList(
+                employee("John", "johndoe@mail.com"),
+                employee("Jane", "janedoe@mail.com"),
+                null,
+                employee("Jim", "not-an-email"),
+                employee("Jack", "jackdoe@mail.com"),
+                employee("Jack", "jackdoe@mail.com"),
+                employee("Jill", "jilldoe@mail.com"));
+
+        given(employeeService.getTakenEmails(anyCollection()))
+                .willReturn(List.of())
+                .willReturn(List.of("jilldoe@mail.com"));
+        given(employeeService.saveEmployees(anyList())).willAnswer(invocation -> new ArrayList<>(invocation.<List<Employee>>getArgument(0)));
+
+        // when - action or the behaviour that we are going to test
+        ImportResult result = employeeImportService.importEmployees(rows.iterator(), 4);
+
+        // then - verify the output
+        assertThat(result.accepted()).isEqualTo(3);
+        assertThat(result.rejected()).isEqualTo(4);
+        assertThat(result.chunks()).hasSize(2);
+        assertThat(result.chunks().get(0).accepted()).isEqualTo(2);
+        assertThat(result.chunks().get(0).rejected()).isEqualTo(2);
+        assertThat(result.chunks().get(1).accepted()).isEqualTo(1);
+        assertThat(result.chunks().get(1).rejected()).isEqualTo(2);
+
+    }
+
+    // JUnit test for importEmployees method when a concurrent writer takes an email
+    @Test
+    public void givenConflictingChunk_whenImportEmployees_thenRetriedRowByRow(){
+
+        // given - precondition or setup
+        Employee john = employee("John", "johndoe@mail.com");
+        Employee jane = employee("Jane", "janedoe@mail.com");
+
+        given(employeeService.getTakenEmails(anyCollection())).willReturn(List.of());
+        given(employeeService.saveEmployees(anyList())).willThrow(new ResourceNotFoundException("Employees already exist"));
+        given(employeeService.saveEmployee(john)).willReturn(john);
+        given(employeeService.saveEmployee(jane)).willThrow(new ResourceNotFoundException("Employee already exists"));
+
+        // when - action or the behaviour that we are going to test
+        ImportResult result = employeeImportService.importEmployees(List.of(john, jane).iterator(), 10);
+
+        // then - verify the output
+        assertThat(result.accepted()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(1);
+        verify(employeeService, times(1)).saveEmployee(jane);
+
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.project.demo.service;
+
+import com.project.demo.config.LookupBatchProperties;
+import com.project.demo.model.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EmployeeLookupBatcherTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    private final List<List<Long>> queries = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown(){
+        callers.shutdownNow();
+    }
+
+    // JUnit test for single-flight lookups of one id
+    @Test
+    public void givenLoadInProgress_whenSameIdLookedUp_thenLookupsShareIt() throws Exception {
+
+        // given - precondition or setup
+        CountDownLatch loaderEntered = new CountDownLatch(1);
+        CountDownLatch loaderReleased = new CountDownLatch(1);
+        EmployeeLookupBatcher batcher = new EmployeeLookupBatcher(new LookupBatchProperties(true, Duration.ZERO, 100, Duration.ofSeconds(10)), ids -> {
+            queries.add(ids);
+            loaderEntered.countDown();
+            await(loaderReleased);
+            return ids.stream().map(EmployeeLookupBatcherTest::employee).toList();
+        }, meterRegistry);
+        Future<Optional<Employee>> first = callers.submit(() -> batcher.load(1L));
+        assertThat(loaderEntered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // when - action or the behaviour that we are going to test
+        Future<Optional<Employee>> second = callers.submit(() -> batcher.load(1L));
+        Future<Optional<Employee>> third = callers.submit(() -> batcher.load(1L));
+        while (meterRegistry.counter(EmployeeLookupBatcher.COALESCED_COUNTER).count() < 2) {
+            Thread.sleep(1);
+        }
+        loaderReleased.countDown();
+
+        // then - verify the output
+        assertThat(first.get(10, TimeUnit.SECONDS)).get().extracting(Employee::getId).isEqualTo(1L);
+        Employee secondEmployee = second.get(10, TimeUnit.SECONDS).orElseThrow();
+        Employee thirdEmployee = third.get(10, TimeUnit.SECONDS).orElseThrow();
+        assertThat(secondEmployee).isNotSameAs(thirdEmployee);
+        assertThat(secondEmployee.getEmail()).isEqualTo(thirdEmployee.getEmail());
+        assertThat(queries).containsExactly(List.of(1L));
+
+    }
+
+    // JUnit test for batching lookups of different ids
+    @Test
+    public void givenLookupsOfDifferentIds_whenBatchFills_thenOneQueryForAll() throws Exception {
+
+        // given - precondition or setup
+        EmployeeLookupBatcher batcher = new EmployeeLookupBatcher(new LookupBatchProperties(true, Duration.ofHours(1), 3, Duration.ofSeconds(10)), ids -> {
+            queries.add(ids);
+            return ids.stream().filter(id -> id != 3L).map(EmployeeLookupBatcherTest::employee).toList();
+        }, meterRegistry);
+
+        // when - action or the behaviour that we are going to test
+        Future<Optional<Employee>> first = callers.submit(() -> batcher.load(1L));
+        Future<Optional<Employee>> second = callers.submit(() -> batcher.load(2L));
+        Future<Optional<Employee>> third = callers.submit(() -> batcher.load(3L));
+
+        // then - verify the output
+        assertThat(first.get(10, TimeUnit.SECONDS)).get().extracting(Employee::getId).isEqualTo(1L);
+        assertThat(second.get(10, TimeUnit.SECONDS)).get().extracting(Employee::getId).isEqualTo(2L);
+        assertThat(third.get(10, TimeUnit.SECONDS)).isEmpty();
+        assertThat(queries).hasSize(1);
+        assertThat(queries.get(0)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(meterRegistry.get(EmployeeLookupBatcher.BATCH_SIZE_SUMMARY).summary().max()).isEqualTo(3);
+
+    }
+
+    // JUnit test for a failing batch query
+    @Test
+    public void givenFailingQuery_whenLoad_thenExceptionPropagatedAndNextLookupRetries(){
+
+        // given - precondition or setup
+        EmployeeLookupBatcher batcher = new EmployeeLookupBatcher(new LookupBatchProperties(true, Duration.ZERO, 100, Duration.ofSeconds(10)), ids -> {
+            queries.add(ids);
+            if (queries.size() == 1) {
+                throw new IllegalStateException("connection lost");
+            }
+            return ids.stream().map(EmployeeLookupBatcherTest::employee).toList();
+        }, meterRegistry);
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(IllegalStateException.class, () -> batcher.load(1L));
+        Optional<Employee> retried = batcher.load(1L);
+
+        // then - verify the output
+        assertThat(retried).isPresent();
+        assertThat(queries).hasSize(2);
+
+    }
+
+    // JUnit test for a lookup of an id forgotten while its batch is open
+    @Test
+    public void givenForgottenIdInOpenBatch_whenLoadedAgain_thenEveryLookupCompleted() throws Exception {
+
+        // given - precondition or setup
+        EmployeeLookupBatcher batcher = new EmployeeLookupBatcher(new LookupBatchProperties(true, Duration.ofHours(1), 2, Duration.ofSeconds(10)), ids -> {
+            queries.add(ids);
+            return ids.stream().map(EmployeeLookupBatcherTest::employee).toList();
+        }, meterRegistry);
+        Future<Optional<Employee>> first = callers.submit(() -> batcher.load(1L));
+        Future<Optional<Employee>> coalesced = callers.submit(() -> batcher.load(1L));
+        while (meterRegistry.counter(EmployeeLookupBatcher.COALESCED_COUNTER).count() < 1) {
+            Thread.sleep(1);
+        }
+
+        // when - action or the behaviour that we are going to test
+        batcher.forget(1L);
+        AtomicReference<Thread> afterWriteCaller = new AtomicReference<>();
+        Future<Optional<Employee>> afterWrite = callers.submit(() -> {
+            afterWriteCaller.set(Thread.currentThread());
+            return batcher.load(1L);
+        });
+        // only the wait for its employee is timed, so the lookup has joined the open batch once it is in it
+        while (afterWriteCaller.get() == null || afterWriteCaller.get().getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+        Future<Optional<Employee>> other = callers.submit(() -> batcher.load(2L));
+
+        // then - verify the output
+        assertThat(first.get(10, TimeUnit.SECONDS)).get().extracting(Employee::getId).isEqualTo(1L);
+        assertThat(coalesced.get(10, TimeUnit.SECONDS)).get().extracting(Employee::getId).isEqualTo(1L);
+        assertThat(afterWrite.get(10, TimeUnit.SECONDS)).get().extracting(Employee::getId).isEqualTo(1L);
+        assertThat(other.get(10, TimeUnit.SECONDS)).get().extracting(Employee::getId).isEqualTo(2L);
+        assertThat(queries).hasSize(1);
+        assertThat(queries.get(0)).containsExactlyInAnyOrder(1L, 2L);
+
+    }
+
+    // JUnit test for waiting on a load that does not complete in time
+    @Test
+    public void givenStuckLoad_whenSameIdLookedUp_thenLookupTimesOut() throws Exception {
+
+        // given - precondition or setup
+        CountDownLatch loaderEntered = new CountDownLatch(1);
+        CountDownLatch loaderReleased = new CountDownLatch(1);
+        EmployeeLookupBatcher batcher = new EmployeeLookupBatcher(new LookupBatchProperties(true, Duration.ZERO, 100, Duration.ofMillis(100)), ids -> {
+            loaderEntered.countDown();
+            await(loaderReleased);
+            return List.of();
+        }, meterRegistry);
+        Future<Optional<Employee>> stuck = callers.submit(() -> batcher.load(1L));
+        assertThat(loaderEntered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // when - action or the behaviour that we are going to test
+        Future<Optional<Employee>> waiting = callers.submit(() -> batcher.load(1L));
+
+        // then - verify the output
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> waiting.get(10, TimeUnit.SECONDS));
+        assertThat(failure).hasCauseInstanceOf(QueryTimeoutException.class);
+        loaderReleased.countDown();
+        assertThat(stuck.get(10, TimeUnit.SECONDS)).isEmpty();
+
+    }
+
+    private static Employee employee(long id) {
+        return Employee.builder().id(id).firstName("John").lastName("Doe").email("john" + id + "@mail.com").build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.project.demo.service;
+
+import com.project.demo.dto.EmployeeView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeNameIndexTest {
+
+    private EmployeeNameIndex nameIndex;
+
+    private EmployeeView john;
+
+    private EmployeeView jane;
+
+    @BeforeEach
+    void setUp() {
+        nameIndex = new EmployeeNameIndex();
+        john = new EmployeeView(1L, "John", "Doe", "johndoe@mail.com", 0L);
+        jane = new EmployeeView(2L, "Jane", "Johnson", "janejohnson@mail.com", 0L);
+    }
+
+    // JUnit test for put method
+    @Test
+    public void givenEmployees_whenPut_thenIndexed(){
+
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        nameIndex.put(john);
+        nameIndex.put(jane);
+
+        // then - verify the output
+        assertThat(nameIndex.size()).isEqualTo(2);
+        assertThat(nameIndex.get(1L)).isEqualTo(john);
+
+    }
+
+    // JUnit test for search method on first, last and full name prefixes
+    @Test
+    public void givenIndexedEmployees_whenSearch_thenMatchesOnAnyNamePrefix(){
+
+        // given - precondition or setup
+        nameIndex.put(john);
+        nameIndex.put(jane);
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeView> byFirstOrLastName = nameIndex.search("JOH", 10);
+        List<EmployeeView> byFullName = nameIndex.search("john d", 10);
+        List<EmployeeView> limited = nameIndex.search("j", 1);
+
+        // then - verify the output
+        assertThat(byFirstOrLastName).containsExactly(john, jane);
+        assertThat(byFullName).containsExactly(john);
+        assertThat(limited).hasSize(1);
+        assertThat(nameIndex.search("x", 10)).isEmpty();
+
+    }
+
+    // JUnit test for put and remove methods
+    @Test
+    public void givenIndexedEmployee_whenRenamedAndRemoved_thenOldNamesNoLongerMatch(){
+
+        // given - precondition or setup
+        nameIndex.put(john);
+
+        // when - action or the behaviour that we are going to test
+        EmployeeView previous = nameIndex.put(new EmployeeView(1L, "John", "Smith", "johnsmith@mail.com", 0L));
+
+        // then - verify the output
+        assertThat(previous).isEqualTo(john);
+        assertThat(nameIndex.search("doe", 10)).isEmpty();
+        assertThat(nameIndex.search("smi", 10)).extracting(EmployeeView::lastName).containsExactly("Smith");
+        assertThat(nameIndex.remove(1L)).isNotNull();
+        assertThat(nameIndex.search("john", 10)).isEmpty();
+
+    }
+
+}
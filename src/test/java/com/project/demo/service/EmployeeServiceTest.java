@@ -1,8 +1,13 @@
 package com.project.demo.service;
 
 import com.project.demo.exception.ResourceNotFoundException;
+import com.project.demo.dto.EmployeeStats;
+import com.project.demo.dto.EmployeeView;
 import com.project.demo.model.Employee;
 import com.project.demo.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,16 +15,26 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +42,14 @@ public class EmployeeServiceTest {
 
     @Mock
     private EmployeeRepository employeeRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private EmailBloomFilter emailFilter;
+    @Mock
+    private EmployeeNameIndex nameIndex;
+    @Mock
+    private EmployeeStatistics statistics;
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -50,8 +73,7 @@ public class EmployeeServiceTest {
     public void givenEmployeeObject_whenSaveEmployee_thenEmployeeObject(){
 
         // given - precondition or setup
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.empty());
+        given(emailFilter.mightContain(employee.getEmail())).willReturn(false);
 
         given(employeeRepository.save(employee)).willReturn(employee);
 
@@ -64,6 +86,8 @@ public class EmployeeServiceTest {
 
         // then - verify the output
         assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository, never()).findByEmail(anyString());
+        verify(emailFilter, times(1)).put(employee.getEmail());
 
     }
 
@@ -72,6 +96,7 @@ public class EmployeeServiceTest {
     public void givenEmployeeObject_whenSaveEmployee_thenThrowsException(){
 
         // given - precondition or setup
+        given(emailFilter.mightContain(employee.getEmail())).willReturn(true);
         given(employeeRepository.findByEmail(employee.getEmail()))
                 .willReturn(Optional.of(employee));
 
@@ -88,6 +113,68 @@ public class EmployeeServiceTest {
 
     }
 
+    // JUnit test for saveEmployee method when the unique email index rejects the insert
+    @Test
+    public void givenEmployeeWithTakenEmail_whenSaveEmployee_thenThrowsException(){
+
+        // given - precondition or setup
+        given(emailFilter.mightContain(employee.getEmail())).willReturn(false);
+        given(employeeRepository.save(employee)).willThrow(new DataIntegrityViolationException(
+                "could not execute statement", new RuntimeException("Unique index or primary key violation: \"PUBLIC.UX_EMPLOYEES_EMAIL_INDEX_C\"")));
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.saveEmployee(employee);
+        });
+
+        // then - verify the output
+        verify(employeeRepository, never()).findByEmail(anyString());
+        verify(emailFilter, never()).put(anyString());
+
+    }
+
+    // JUnit test for saveEmployees method
+    @Test
+    public void givenEmployeesList_whenSaveEmployees_thenEmployeesList(){
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("janedoe@mail.co")
+                .build();
+        List<Employee> employees = List.of(employee, employee1);
+
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(Collections.emptyList());
+        given(employeeRepository.saveAll(employees)).willReturn(employees);
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> savedEmployees = employeeService.saveEmployees(employees);
+
+        // then - verify the output
+        assertThat(savedEmployees).hasSize(2);
+        verify(employeeRepository, never()).findByEmail(anyString());
+        verify(employeeRepository, times(1)).flush();
+
+    }
+
+    // JUnit test for saveEmployees method which throws exception
+    @Test
+    public void givenEmployeesListWithTakenEmail_whenSaveEmployees_thenThrowsException(){
+
+        // given - precondition or setup
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of(employee.getEmail()));
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.saveEmployees(List.of(employee));
+        });
+
+        // then - verify the output
+        verify(employeeRepository, never()).saveAll(anyList());
+
+    }
+
     // JUnit test for getAllEmployees method
     @Test
     public void givenEmployeesList_whenGetAllEmployees_thenEmployeesList(){
@@ -127,6 +214,133 @@ public class EmployeeServiceTest {
 
     }
 
+    // JUnit test for getAllEmployeeViews method
+    @Test
+    public void givenEmployeeViews_whenGetAllEmployeeViews_thenEmployeeViewsList(){
+
+        // given - precondition or setup
+        EmployeeView view = new EmployeeView(1L, "John", "Doe", "johndoe@mail.co", 0L);
+        given(employeeRepository.findAllViews()).willReturn(List.of(view));
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeView> employeeList = employeeService.getAllEmployeeViews();
+
+        // then - verify the output
+        assertThat(employeeList).containsExactly(view);
+        verify(employeeRepository, never()).findAll();
+
+    }
+
+    // JUnit test for getEmployeesAfter method
+    @Test
+    public void givenAfterIdAndLimit_whenGetEmployeesAfter_thenEmployeesPage(){
+
+        // given - precondition or setup
+        EmployeeView view = new EmployeeView(2L, "Jane", "Doe", "janedoe@mail.co", 0L);
+
+        given(employeeRepository.findViewsAfter(eq(1L), any()))
+                .willReturn(List.of(view));
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeView> employeeList = employeeService.getEmployeesAfter(1L, 10);
+
+        // then - verify the output
+        assertThat(employeeList).containsExactly(view);
+
+    }
+
+    // JUnit test for getEmployeeByEmail method
+    @Test
+    public void givenEmail_whenGetEmployeeByEmail_thenEmployeeView(){
+
+        // given - precondition or setup
+        EmployeeView view = new EmployeeView(1L, "John", "Doe", "johndoe@mail.co", 0L);
+        given(employeeRepository.findViewByEmail("johndoe@mail.co")).willReturn(Optional.of(view));
+
+        // when - action or the behaviour that we are going to test
+        Optional<EmployeeView> employeeView = employeeService.getEmployeeByEmail("johndoe@mail.co");
+
+        // then - verify the output
+        assertThat(employeeView).contains(view);
+        verify(employeeRepository, never()).findByEmail(anyString());
+
+    }
+
+    // JUnit test for searchEmployees method
+    @Test
+    public void givenPrefix_whenSearchEmployees_thenAnsweredFromNameIndex(){
+
+        // given - precondition or setup
+        EmployeeView view = new EmployeeView(1L, "John", "Doe", "johndoe@mail.co", 0L);
+        given(nameIndex.search("jo", 5)).willReturn(List.of(view));
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeView> employeeList = employeeService.searchEmployees("jo", 5);
+
+        // then - verify the output
+        assertThat(employeeList).containsExactly(view);
+        verifyNoInteractions(employeeRepository);
+
+    }
+
+    // JUnit test for warmUp method
+    @Test
+    public void givenEmployeesInTable_whenWarmUp_thenFilterAndIndexFilled(){
+
+        // given - precondition or setup
+        EmployeeView view = new EmployeeView(1L, "John", "Doe", "johndoe@mail.co", 0L);
+        given(employeeRepository.streamAllViews()).willReturn(Stream.of(view));
+
+        // when - action or the behaviour that we are going to test
+        employeeService.warmUp();
+
+        // then - verify the output
+        verify(emailFilter, times(1)).put("johndoe@mail.co");
+        verify(nameIndex, times(1)).put(view);
+        verify(statistics, times(1)).reset(any(EmployeeStatistics.Counters.class));
+
+    }
+
+    // JUnit test for getStatistics method
+    @Test
+    public void givenCounters_whenGetStatistics_thenNoDatabaseCall(){
+
+        // given - precondition or setup
+        EmployeeStats stats = new EmployeeStats(1, Map.of("mail.co", 1L), Map.of("John", 1L), Map.of("Doe", 1L));
+        given(statistics.snapshot(10)).willReturn(stats);
+
+        // when - action or the behaviour that we are going to test
+        EmployeeStats result = employeeService.getStatistics(10);
+
+        // then - verify the output
+        assertThat(result).isEqualTo(stats);
+        verifyNoInteractions(employeeRepository);
+
+    }
+
+    // JUnit test for streamAllEmployees method
+    @Test
+    public void givenEmployees_whenStreamAllEmployees_thenEachEmployeeConsumedAndDetached(){
+
+        // given - precondition or setup
+        Session session = Mockito.mock(Session.class);
+        given(entityManager.unwrap(Session.class)).willReturn(session);
+        given(session.getCacheMode()).willReturn(CacheMode.NORMAL);
+        given(employeeRepository.streamAll()).willReturn(Stream.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> consumed = new ArrayList<>();
+        employeeService.streamAllEmployees(consumed::add);
+
+        // then - verify the output
+        assertThat(consumed).containsExactly(employee);
+        verify(session, times(1)).setCacheMode(CacheMode.IGNORE);
+        verify(session, times(1)).setCacheMode(CacheMode.NORMAL);
+        verify(employeeRepository, never()).findAll();
+        verify(entityManager, times(1)).detach(employee);
+
+    }
+
     // JUnit test for getEmployeeById method
     @Test
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject(){
@@ -142,6 +356,128 @@ public class EmployeeServiceTest {
 
     }
 
+    // JUnit test for getEmployeeById method with a buffered write
+    @Test
+    public void givenBufferedEmployee_whenGetEmployeeById_thenReturnBufferedEmployee(){
+
+        // given - precondition or setup
+        EmployeeWriteBuffer writeBuffer = Mockito.mock(EmployeeWriteBuffer.class);
+        EmployeeServiceImpl writeBehindService = new EmployeeServiceImpl(employeeRepository, entityManager, emailFilter,
+                nameIndex, statistics, writeBuffer, null, null);
+        employee.setLastName("Smith");
+        given(writeBuffer.get(1L)).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        Employee bufferedEmployee = writeBehindService.getEmployeeById(1L).get();
+
+        // then - verify the output
+        assertThat(bufferedEmployee.getLastName()).isEqualTo("Smith");
+        verify(employeeRepository, never()).findById(anyLong());
+
+    }
+
+    // JUnit test for getEmployeeById method with batched lookups
+    @Test
+    public void givenLookupBatcher_whenGetEmployeeById_thenLoadedThroughBatcher(){
+
+        // given - precondition or setup
+        EmployeeLookupBatcher lookupBatcher = Mockito.mock(EmployeeLookupBatcher.class);
+        EmployeeServiceImpl batchingService = new EmployeeServiceImpl(employeeRepository, entityManager, emailFilter,
+                nameIndex, statistics, null, lookupBatcher, null);
+        given(lookupBatcher.load(1L)).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        Optional<Employee> loadedEmployee = batchingService.getEmployeeById(1L);
+        batchingService.deleteEmployee(1L);
+
+        // then - verify the output
+        assertThat(loadedEmployee).contains(employee);
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(lookupBatcher).forget(1L);
+
+    }
+
+    // JUnit test for getEmployeeById and getEmployeesAfter methods in snapshot mode
+    @Test
+    public void givenLoadedSnapshot_whenReadEmployees_thenServedFromSnapshot(){
+
+        // given - precondition or setup
+        EmployeeSnapshot snapshot = Mockito.mock(EmployeeSnapshot.class);
+        EmployeeServiceImpl snapshotService = new EmployeeServiceImpl(employeeRepository, entityManager, emailFilter,
+                nameIndex, statistics, null, null, snapshot);
+        given(snapshot.isLoaded()).willReturn(true);
+        given(snapshot.get(1L)).willReturn(Optional.of(employee));
+        given(snapshot.getViewsAfter(0L, 10)).willReturn(List.of(EmployeeView.from(employee)));
+
+        // when - action or the behaviour that we are going to test
+        Optional<Employee> snapshotEmployee = snapshotService.getEmployeeById(1L);
+        List<EmployeeView> page = snapshotService.getEmployeesAfter(0L, 10);
+
+        // then - verify the output
+        assertThat(snapshotEmployee).contains(employee);
+        assertThat(page).extracting(EmployeeView::id).containsExactly(1L);
+        verifyNoInteractions(employeeRepository);
+
+    }
+
+    // JUnit test for getEmployeeForUpdate method in snapshot mode
+    @Test
+    public void givenLoadedSnapshot_whenGetEmployeeForUpdate_thenReadFromDatabase(){
+
+        // given - precondition or setup
+        EmployeeSnapshot snapshot = Mockito.mock(EmployeeSnapshot.class);
+        EmployeeServiceImpl snapshotService = new EmployeeServiceImpl(employeeRepository, entityManager, emailFilter,
+                nameIndex, statistics, null, null, snapshot);
+        Employee updated = employee.toBuilder().lastName("Smith").version(1L).build();
+        given(employeeRepository.findLatestById(1L)).willReturn(Optional.of(updated));
+
+        // when - action or the behaviour that we are going to test
+        Optional<Employee> employeeForUpdate = snapshotService.getEmployeeForUpdate(1L);
+
+        // then - verify the output
+        assertThat(employeeForUpdate).contains(updated);
+        verifyNoInteractions(snapshot);
+
+    }
+
+    // JUnit test for getAllEmployeeViews method with buffered writes
+    @Test
+    public void givenBufferedWrites_whenGetAllEmployeeViews_thenBufferedWritesApplied(){
+
+        // given - precondition or setup
+        EmployeeWriteBuffer writeBuffer = Mockito.mock(EmployeeWriteBuffer.class);
+        EmployeeServiceImpl writeBehindService = new EmployeeServiceImpl(employeeRepository, entityManager, emailFilter,
+                nameIndex, statistics, writeBuffer, null, null);
+        given(employeeRepository.findAllViews()).willReturn(List.of(
+                new EmployeeView(1L, "John", "Doe", "johndoe@mail.com", 0L),
+                new EmployeeView(2L, "Jane", "Doe", "janedoe@mail.com", 0L)));
+        given(writeBuffer.size()).willReturn(2);
+        given(writeBuffer.snapshot()).willReturn(List.of(
+                Employee.builder().id(1L).firstName("John").lastName("Smith").email("johndoe@mail.com").version(1L).build(),
+                Employee.builder().id(3L).firstName("Jim").lastName("Doe").email("jimdoe@mail.com").version(0L).build()));
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeView> employees = writeBehindService.getAllEmployeeViews();
+
+        // then - verify the output
+        assertThat(employees).extracting(EmployeeView::id).containsExactly(1L, 2L, 3L);
+        assertThat(employees.get(0).lastName()).isEqualTo("Smith");
+
+    }
+
+    // JUnit test for saveEmployeeBehind method without write-behind
+    @Test
+    public void givenNoWriteBuffer_whenSaveEmployeeBehind_thenEmpty(){
+
+        // given - precondition or setup / when - action or the behaviour that we are going to test
+        Optional<Employee> accepted = employeeService.saveEmployeeBehind(employee);
+
+        // then - verify the output
+        assertThat(accepted).isEmpty();
+        verifyNoInteractions(employeeRepository);
+
+    }
+
     // JUnit test for updateEmployee method
     @Test
     public void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee(){
@@ -161,20 +497,117 @@ public class EmployeeServiceTest {
 
     }
 
+    // JUnit test for patchEmployee method
+    @Test
+    public void givenEmployeeIdAndChanges_whenPatchEmployee_thenTrue(){
+
+        // given - precondition or setup
+        Employee changes = Employee.builder().lastName("Smith").build();
+        given(employeeRepository.updatePartially(1L, null, "Smith", null, null)).willReturn(1);
+        given(nameIndex.get(1L)).willReturn(new EmployeeView(1L, "John", "Doe", "johndoe@mail.co", 0L));
+
+        // when - action or the behaviour that we are going to test
+        boolean patched = employeeService.patchEmployee(1L, changes);
+
+        // then - verify the output
+        assertThat(patched).isTrue();
+        verify(nameIndex, times(1)).put(new EmployeeView(1L, "John", "Smith", "johndoe@mail.co", 1L));
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(employeeRepository, never()).save(any(Employee.class));
+
+    }
+
+    // JUnit test for patchEmployee method (negative scenario)
+    @Test
+    public void givenInvalidEmployeeId_whenPatchEmployee_thenFalse(){
+
+        // given - precondition or setup
+        Employee changes = Employee.builder().lastName("Smith").build();
+        given(employeeRepository.updatePartially(2L, null, "Smith", null, null)).willReturn(0);
+
+        // when - action or the behaviour that we are going to test
+        boolean patched = employeeService.patchEmployee(2L, changes);
+
+        // then - verify the output
+        assertThat(patched).isFalse();
+
+    }
+
+    // JUnit test for patchEmployee method with a stale expected version
+    @Test
+    public void givenStaleVersion_whenPatchEmployee_thenThrowsOptimisticLockingFailure(){
+
+        // given - precondition or setup
+        Employee changes = Employee.builder().lastName("Smith").version(3L).build();
+        given(employeeRepository.updatePartially(1L, null, "Smith", null, 3L)).willReturn(0);
+        given(employeeRepository.findLatestById(1L)).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+            employeeService.patchEmployee(1L, changes);
+        });
+
+        // then - verify the output
+        verify(nameIndex, never()).put(any(EmployeeView.class));
+
+    }
+
     // JUnit test for deleteEmployee method
     @Test
-    public void givenEmployeeId_whenDeleteEmployee_thenNothing(){
+    public void givenEmployeeId_whenDeleteEmployee_thenDeletedCount(){
 
         // given - precondition or setup
         long employeeId = 1L;
-        willDoNothing().given(employeeRepository).deleteById(employeeId);
+        EmployeeView view = new EmployeeView(employeeId, "John", "Doe", "johndoe@mail.co", 0L);
+        given(employeeRepository.deleteDirectly(employeeId)).willReturn(1);
+        given(nameIndex.remove(employeeId)).willReturn(view);
+
+        // when - action or the behaviour that we are going to test
+        int deleted = employeeService.deleteEmployee(employeeId);
+
+        // then - verify the output
+        assertThat(deleted).isEqualTo(1);
+        verify(employeeRepository, times(1)).deleteDirectly(employeeId);
+        verify(employeeRepository, never()).findById(employeeId);
+        verify(statistics, times(1)).update(view, null);
+
+
+    }
+
+    // JUnit test for deleteEmployees method
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenDeletedInChunks(){
+
+        // given - precondition or setup
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 2500; id++) {
+            ids.add(id);
+        }
+        given(employeeRepository.deleteAllDirectly(anyCollection()))
+                .willAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).size());
 
         // when - action or the behaviour that we are going to test
-        employeeService.deleteEmployee(employeeId);
+        int deleted = employeeService.deleteEmployees(ids);
 
         // then - verify the output
-        verify(employeeRepository, times(1)).deleteById(employeeId);
+        assertThat(deleted).isEqualTo(2500);
+        verify(employeeRepository, times(3)).deleteAllDirectly(anyCollection());
+
+    }
 
+    // JUnit test for deleteEmployeesByEmailDomain method
+    @Test
+    public void givenEmailDomain_whenDeleteEmployeesByEmailDomain_thenMatchingEmployeesDeleted(){
+
+        // given - precondition or setup
+        given(employeeRepository.findIdsByEmailDomain("mail.co")).willReturn(List.of(1L, 2L));
+        given(employeeRepository.deleteAllDirectly(anyCollection())).willReturn(2);
+
+        // when - action or the behaviour that we are going to test
+        int deleted = employeeService.deleteEmployeesByEmailDomain("mail.co");
+
+        // then - verify the output
+        assertThat(deleted).isEqualTo(2);
 
     }
 
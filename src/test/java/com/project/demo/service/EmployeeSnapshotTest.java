@@ -0,0 +1,142 @@
+package com.project.demo.service;
+
+import com.project.demo.dto.EmployeeView;
+import com.project.demo.model.Employee;
+import com.project.demo.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSnapshotTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @TempDir
+    private Path directory;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Path path;
+
+    @BeforeEach
+    void setUp(){
+        path = directory.resolve("employees.snapshot");
+    }
+
+    // JUnit test for reading an exported snapshot
+    @Test
+    public void givenExportedSnapshot_whenGet_thenEmployeesDecodedById(){
+
+        // given - precondition or setup
+        given(employeeRepository.findViewsAfter(anyLong(), any())).willReturn(List.of(
+                new EmployeeView(3L, "John", "Doe", "johndoe@mail.com", 2L),
+                new EmployeeView(7L, "Zoë", "Ångström", "zoe@mail.com", 0L)));
+        new EmployeeSnapshotWriter(employeeRepository, path).export();
+
+        // when - action or the behaviour that we are going to test
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(path, meterRegistry);
+
+        // then - verify the output
+        Employee employee = snapshot.get(7L).orElseThrow();
+        assertThat(employee.getId()).isEqualTo(7L);
+        assertThat(employee.getFirstName()).isEqualTo("Zoë");
+        assertThat(employee.getLastName()).isEqualTo("Ångström");
+        assertThat(employee.getEmail()).isEqualTo("zoe@mail.com");
+        assertThat(snapshot.get(3L)).get().extracting(Employee::getVersion).isEqualTo(2L);
+        assertThat(snapshot.get(5L)).isEmpty();
+        assertThat(snapshot.getViewsAfter(3L, 10)).extracting(EmployeeView::id).containsExactly(7L);
+        assertThat(snapshot.getViewsAfter(0L, 1)).extracting(EmployeeView::id).containsExactly(3L);
+        assertThat(meterRegistry.get(EmployeeSnapshot.EMPLOYEES_GAUGE).gauge().value()).isEqualTo(2);
+
+    }
+
+    // JUnit test for exporting more than one page
+    @Test
+    public void givenTableLargerThanPage_whenExport_thenEveryPageWritten(){
+
+        // given - precondition or setup
+        int total = EmployeeSnapshotWriter.PAGE_SIZE + 1;
+        given(employeeRepository.findViewsAfter(0L, PageRequest.ofSize(EmployeeSnapshotWriter.PAGE_SIZE)))
+                .willReturn(views(1, EmployeeSnapshotWriter.PAGE_SIZE));
+        given(employeeRepository.findViewsAfter(EmployeeSnapshotWriter.PAGE_SIZE, PageRequest.ofSize(EmployeeSnapshotWriter.PAGE_SIZE)))
+                .willReturn(views(total, total));
+
+        // when - action or the behaviour that we are going to test
+        new EmployeeSnapshotWriter(employeeRepository, path).export();
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(path, meterRegistry);
+
+        // then - verify the output
+        assertThat(snapshot.size()).isEqualTo(total);
+        assertThat(snapshot.get(total)).get().extracting(Employee::getEmail).isEqualTo("employee" + total + "@mail.com");
+        assertThat(snapshot.getViewsAfter(Long.MIN_VALUE, Integer.MAX_VALUE)).hasSize(total);
+
+    }
+
+    // JUnit test for swapping in a newer snapshot
+    @Test
+    public void givenMappedSnapshot_whenNewSnapshotExportedAndReloaded_thenSwapped(){
+
+        // given - precondition or setup
+        given(employeeRepository.findViewsAfter(anyLong(), any()))
+                .willReturn(List.of(new EmployeeView(1L, "John", "Doe", "johndoe@mail.com", 0L)))
+                .willReturn(List.of(new EmployeeView(1L, "John", "Smith", "johndoe@mail.com", 1L),
+                        new EmployeeView(2L, "Jane", "Doe", "janedoe@mail.com", 0L)));
+        EmployeeSnapshotWriter writer = new EmployeeSnapshotWriter(employeeRepository, path);
+        writer.export();
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(path, meterRegistry);
+        Employee before = snapshot.get(1L).orElseThrow();
+
+        // when - action or the behaviour that we are going to test
+        writer.export();
+        snapshot.reload();
+
+        // then - verify the output
+        assertThat(before.getLastName()).isEqualTo("Doe");
+        assertThat(snapshot.get(1L)).get().extracting(Employee::getLastName).isEqualTo("Smith");
+        assertThat(snapshot.get(2L)).isPresent();
+        assertThat(meterRegistry.counter(EmployeeSnapshot.SWAPS_COUNTER).count()).isEqualTo(1);
+
+    }
+
+    // JUnit test for a missing or corrupt snapshot file
+    @Test
+    public void givenNoUsableFile_whenCreateSnapshot_thenNotLoadedOrRejected() throws Exception {
+
+        // given - precondition or setup
+        EmployeeSnapshot missing = new EmployeeSnapshot(path, meterRegistry);
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+
+        // when - action or the behaviour that we are going to test / then - verify the output
+        assertThat(missing.isLoaded()).isFalse();
+        assertThat(missing.get(1L)).isEmpty();
+        assertThrows(RuntimeException.class, missing::reload);
+        assertThat(missing.isLoaded()).isFalse();
+
+    }
+
+    private static List<EmployeeView> views(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> new EmployeeView(id, "First" + id, "Last" + id, "employee" + id + "@mail.com", 0L))
+                .toList();
+    }
+
+}
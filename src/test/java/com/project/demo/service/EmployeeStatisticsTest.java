@@ -0,0 +1,89 @@
+package com.project.demo.service;
+
+import com.project.demo.dto.EmployeeStats;
+import com.project.demo.dto.EmployeeView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeStatisticsTest {
+
+    private EmployeeStatistics statistics;
+
+    private EmployeeView john;
+
+    private EmployeeView jane;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new EmployeeStatistics();
+        john = new EmployeeView(1L, "John", "Doe", "johndoe@mail.com", 0L);
+        jane = new EmployeeView(2L, "Jane", "Doe", "janedoe@Example.org", 0L);
+    }
+
+    // JUnit test for update method on create, update and delete
+    @Test
+    public void givenWrites_whenUpdate_thenCountsMoveIncrementally(){
+
+        // given - precondition or setup
+        statistics.update(null, john);
+        statistics.update(null, jane);
+
+        // when - action or the behaviour that we are going to test
+        statistics.update(john, new EmployeeView(1L, "John", "Smith", "john@example.org", 1L));
+        statistics.update(jane, null);
+        EmployeeStats stats = statistics.snapshot(10);
+
+        // then - verify the output
+        assertThat(stats.total()).isEqualTo(1);
+        assertThat(stats.emailDomains()).containsExactly(Map.entry("example.org", 1L));
+        assertThat(stats.firstNames()).containsExactly(Map.entry("John", 1L));
+        assertThat(stats.lastNames()).containsExactly(Map.entry("Smith", 1L));
+
+    }
+
+    // JUnit test for snapshot method
+    @Test
+    public void givenCounts_whenSnapshot_thenTopEntriesMostFrequentFirst(){
+
+        // given - precondition or setup
+        statistics.update(null, john);
+        statistics.update(null, jane);
+        statistics.update(null, new EmployeeView(3L, "Jane", "Roe", "janeroe@mail.com", 0L));
+
+        // when - action or the behaviour that we are going to test
+        EmployeeStats stats = statistics.snapshot(1);
+
+        // then - verify the output
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.emailDomains()).containsExactly(Map.entry("mail.com", 2L));
+        assertThat(stats.firstNames()).containsExactly(Map.entry("Jane", 2L));
+        assertThat(stats.lastNames()).containsExactly(Map.entry("Doe", 2L));
+
+    }
+
+    // JUnit test for reset method
+    @Test
+    public void givenDriftedCounts_whenReset_thenRecountReplacesThem(){
+
+        // given - precondition or setup
+        statistics.update(null, john);
+        statistics.update(null, john);
+        EmployeeStatistics.Counters recount = new EmployeeStatistics.Counters();
+        recount.add(jane);
+
+        // when - action or the behaviour that we are going to test
+        statistics.reset(recount);
+        EmployeeStats stats = statistics.snapshot(10);
+
+        // then - verify the output
+        assertThat(stats.total()).isEqualTo(1);
+        assertThat(stats.emailDomains()).containsExactly(Map.entry("example.org", 1L));
+        assertThat(stats.firstNames()).containsOnlyKeys("Jane");
+
+    }
+
+}
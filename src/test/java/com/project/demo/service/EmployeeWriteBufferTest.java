@@ -0,0 +1,189 @@
+package com.project.demo.service;
+
+import com.project.demo.config.WriteBehindProperties;
+import com.project.demo.exception.ResourceNotFoundException;
+import com.project.demo.model.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeWriteBufferTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactions;
+
+    @Mock
+    private EmployeeNameIndex nameIndex;
+
+    @Mock
+    private EmployeeStatistics statistics;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmployeeWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp(){
+        // no background flush during a test
+        WriteBehindProperties properties = new WriteBehindProperties(true, 2, 100, Duration.ofHours(1), 2);
+        AtomicLong ids = new AtomicLong();
+        buffer = new EmployeeWriteBuffer(properties, ids::incrementAndGet, entityManager, transactions, nameIndex,
+                statistics, null, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        buffer.close();
+    }
+
+    // JUnit test for offerCreate method
+    @Test
+    public void givenNewEmployee_whenOfferCreate_thenIdAssignedAndReadable(){
+
+        // given - precondition or setup
+        Employee employee = Employee.builder().firstName("John").lastName("Doe").email("johndoe@mail.com").build();
+
+        // when - action or the behaviour that we are going to test
+        Employee accepted = buffer.offerCreate(employee);
+
+        // then - verify the output
+        assertThat(accepted.getId()).isEqualTo(1L);
+        assertThat(accepted.getVersion()).isEqualTo(0L);
+        assertThat(buffer.get(1L)).get().extracting(Employee::getEmail).isEqualTo("johndoe@mail.com");
+        assertThat(buffer.findByEmail("johndoe@mail.com")).get().extracting(Employee::getId).isEqualTo(1L);
+        assertThat(meterRegistry.get(EmployeeWriteBuffer.PENDING_GAUGE).gauge().value()).isEqualTo(1);
+
+    }
+
+    // JUnit test for coalescing updates of one employee
+    @Test
+    public void givenBufferedEmployee_whenOfferUpdateTwice_thenOneWriteWithLatestState(){
+
+        // given - precondition or setup
+        Employee accepted = buffer.offerCreate(Employee.builder().firstName("John").lastName("Doe").email("johndoe@mail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        Employee first = buffer.offerUpdate(Employee.builder().id(accepted.getId()).firstName("John").lastName("Smith")
+                .email("johnsmith@mail.com").version(0L).build());
+        Employee second = buffer.offerUpdate(Employee.builder().id(accepted.getId()).firstName("Johnny").lastName("Smith")
+                .email("johnsmith@mail.com").version(1L).build());
+
+        // then - verify the output
+        assertThat(first.getVersion()).isEqualTo(1L);
+        assertThat(second.getVersion()).isEqualTo(2L);
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.get(accepted.getId())).get().extracting(Employee::getFirstName).isEqualTo("Johnny");
+        assertThat(buffer.findByEmail("johndoe@mail.com")).isEmpty();
+
+    }
+
+    // JUnit test for a full buffer
+    @Test
+    public void givenFullBuffer_whenOfferCreate_thenNullButUpdatesOfBufferedEmployeesAccepted(){
+
+        // given - precondition or setup
+        Employee accepted = buffer.offerCreate(Employee.builder().firstName("John").lastName("Doe").email("johndoe@mail.com").build());
+        buffer.offerCreate(Employee.builder().firstName("Jane").lastName("Doe").email("janedoe@mail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        Employee rejected = buffer.offerCreate(Employee.builder().firstName("Jim").lastName("Doe").email("jimdoe@mail.com").build());
+        Employee updated = buffer.offerUpdate(Employee.builder().id(accepted.getId()).firstName("John").lastName("Smith")
+                .email("johndoe@mail.com").version(0L).build());
+
+        // then - verify the output
+        assertThat(rejected).isNull();
+        assertThat(updated).isNotNull();
+        assertThat(buffer.size()).isEqualTo(2);
+
+    }
+
+    // JUnit test for conflicting buffered writes
+    @Test
+    public void givenBufferedEmployee_whenConflictingOffers_thenThrows(){
+
+        // given - precondition or setup
+        Employee accepted = buffer.offerCreate(Employee.builder().firstName("John").lastName("Doe").email("johndoe@mail.com").build());
+
+        // when - action or the behaviour that we are going to test / then - verify the output
+        assertThrows(ResourceNotFoundException.class, () -> buffer.offerCreate(
+                Employee.builder().firstName("Jane").lastName("Doe").email("johndoe@mail.com").build()));
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> buffer.offerUpdate(
+                Employee.builder().id(accepted.getId()).firstName("John").lastName("Smith").email("johndoe@mail.com").version(5L).build()));
+
+    }
+
+    // JUnit test for offerUpdate method without the version to replace
+    @Test
+    public void givenUnbufferedEmployee_whenOfferUpdateWithoutVersion_thenThrows(){
+
+        // given - precondition or setup
+        Employee employee = Employee.builder().id(42L).firstName("John").lastName("Smith").email("johnsmith@mail.com").build();
+
+        // when - action or the behaviour that we are going to test / then - verify the output
+        assertThrows(IllegalArgumentException.class, () -> buffer.offerUpdate(employee));
+        assertThat(buffer.size()).isZero();
+
+    }
+
+    // JUnit test for flush method while the database is unreachable
+    @Test
+    public void givenUnreachableDatabase_whenFlushFailsMaxAttempts_thenWriteDeadLettered(){
+
+        // given - precondition or setup
+        given(transactions.execute(any())).willThrow(new CannotCreateTransactionException("database unreachable"));
+        buffer.offerCreate(Employee.builder().firstName("John").lastName("Doe").email("johndoe@mail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(CannotCreateTransactionException.class, buffer::flush);
+        int pendingAfterFirstFailure = buffer.size();
+        assertThrows(CannotCreateTransactionException.class, buffer::flush);
+
+        // then - verify the output
+        assertThat(pendingAfterFirstFailure).isEqualTo(1);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.deadLetters()).extracting(Employee::getEmail).containsExactly("johndoe@mail.com");
+        assertThat(meterRegistry.get(EmployeeWriteBuffer.DEAD_LETTERS_GAUGE).gauge().value()).isEqualTo(1);
+
+    }
+
+    // JUnit test for flush method with a write that can never succeed
+    @Test
+    public void givenFailingWrite_whenFlush_thenDeadLetteredAtOnce(){
+
+        // given - precondition or setup
+        given(transactions.execute(any())).willThrow(new InvalidDataAccessResourceUsageException("column missing"));
+        buffer.offerCreate(Employee.builder().firstName("John").lastName("Doe").email("johndoe@mail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        buffer.flush();
+
+        // then - verify the output
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.deadLetters()).extracting(Employee::getEmail).containsExactly("johndoe@mail.com");
+        assertThat(buffer.findByEmail("johndoe@mail.com")).isEmpty();
+
+    }
+
+}